@@ -29,17 +29,17 @@ public class MainActivity extends AppCompatActivity {
         mPolygonView = findViewById(R.id.polygon_view);
         mButton = findViewById(R.id.btn_change_value);
 
-        generateData();
+        generateData(false);
 
         mButton.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                generateData();
+                generateData(true);
             }
         });
     }
 
-    private void generateData() {
+    private void generateData(boolean animate) {
         Random random = new Random();
         LinkedHashMap<String, Float> data = new LinkedHashMap<>();
 
@@ -48,6 +48,6 @@ public class MainActivity extends AppCompatActivity {
         }
 
 
-        mPolygonView.bindData(data);
+        mPolygonView.bindData(data, animate);
     }
 }
@@ -0,0 +1,82 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 数据集遮罩层的三角扇网格
+ * 以中心点为扇心,依次连接各个顶点并回到第一个顶点,
+ * 每个顶点的颜色按其在线性渐变方向上的投影插值,以此还原LinearGradient的效果
+ */
+public class CoverMesh {
+
+    private float[] mVertices = new float[0];
+    private int[] mColors = new int[0];
+    //顶点个数,为边数加2
+    private int mVertexCount;
+
+
+    /**
+     * 根据遮罩层的点集计算网格
+     * centerX,centerY为扇心,startX,startY及endX,endY为渐变的起点和终点
+     *
+     * @param points  遮罩层的点集,x,y交错
+     * @param edgeNum 边数
+     * @param alpha   整体透明度
+     */
+    public void build(float[] points, int edgeNum, float centerX, float centerY,
+                      float startX, float startY, float endX, float endY,
+                      int startColor, int endColor, int alpha) {
+        mVertexCount = edgeNum + 2;
+        if (mColors.length < mVertexCount) {
+            mVertices = new float[mVertexCount * 2];
+            mColors = new int[mVertexCount];
+        }
+
+        float gradientX = endX - startX;
+        float gradientY = endY - startY;
+        float lengthSquare = gradientX * gradientX + gradientY * gradientY;
+
+        for (int i = 0; i < mVertexCount; i++) {
+            float x, y;
+            if (i == 0) {
+                x = centerX;
+                y = centerY;
+            } else {
+                //最后一个顶点回到第一个顶点,使三角扇闭合
+                int index = (i - 1) % edgeNum;
+                x = points[2 * index];
+                y = points[2 * index + 1];
+            }
+            mVertices[2 * i] = x;
+            mVertices[2 * i + 1] = y;
+
+            float fraction = lengthSquare > 0 ? ((x - startX) * gradientX + (y - startY) * gradientY) / lengthSquare : 0;
+            mColors[i] = blend(startColor, endColor, Math.max(0, Math.min(1, fraction)), alpha);
+        }
+    }
+
+    /**
+     * 按比例混合两个颜色,并乘以整体透明度
+     */
+    static int blend(int startColor, int endColor, float fraction, int alpha) {
+        int a = mix(startColor >>> 24, endColor >>> 24, fraction) * alpha / 255;
+        int r = mix((startColor >> 16) & 0xff, (endColor >> 16) & 0xff, fraction);
+        int g = mix((startColor >> 8) & 0xff, (endColor >> 8) & 0xff, fraction);
+        int b = mix(startColor & 0xff, endColor & 0xff, fraction);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static int mix(int start, int end, float fraction) {
+        return (int) (start + (end - start) * fraction + 0.5f);
+    }
+
+    public float[] getVertices() {
+        return mVertices;
+    }
+
+    public int[] getColors() {
+        return mColors;
+    }
+
+    public int getVertexCount() {
+        return mVertexCount;
+    }
+}
@@ -0,0 +1,70 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 经过遮罩层各个顶点的闭合Catmull-Rom曲线,以三次贝塞尔曲线段保存
+ * 第i段从顶点i到顶点i+1,两个控制点由顶点i-1到i+2决定,
+ * 因此单个顶点变化时只需重新计算与它及相邻顶点相连的4段
+ * 控制点保存在可复用的float数组中,顶点数不增加时不会分配内存
+ */
+public class CoverSpline {
+
+    //每段的两个控制点,依次为x1,y1,x2,y2
+    private float[] mControls = new float[0];
+    //顶点数,即曲线段数
+    private int mCount;
+
+
+    /**
+     * 重新计算所有曲线段
+     *
+     * @param points 遮罩层的点集,x,y交错
+     * @param count  顶点数  >=3
+     */
+    public void build(float[] points, int count) {
+        mCount = count;
+        if (mControls.length < count * 4) {
+            mControls = new float[count * 4];
+        }
+        for (int i = 0; i < count; i++) {
+            computeSegment(points, i);
+        }
+    }
+
+    /**
+     * 只重新计算受一个顶点影响的曲线段,即第index-2到index+1段
+     * 顶点数需与上次 {@link #build(float[], int)} 一致
+     */
+    public void update(float[] points, int index) {
+        int segments = Math.min(4, mCount);
+        for (int i = 0; i < segments; i++) {
+            computeSegment(points, (index - 2 + i + mCount) % mCount);
+        }
+    }
+
+    /**
+     * 切线取前后两个顶点的差,控制点位于切线方向的1/6处
+     */
+    private void computeSegment(float[] points, int segment) {
+        int previous = 2 * ((segment - 1 + mCount) % mCount);
+        int start = 2 * segment;
+        int end = 2 * ((segment + 1) % mCount);
+        int next = 2 * ((segment + 2) % mCount);
+
+        int offset = 4 * segment;
+        mControls[offset] = points[start] + (points[end] - points[previous]) / 6;
+        mControls[offset + 1] = points[start + 1] + (points[end + 1] - points[previous + 1]) / 6;
+        mControls[offset + 2] = points[end] - (points[next] - points[start]) / 6;
+        mControls[offset + 3] = points[end + 1] - (points[next + 1] - points[start + 1]) / 6;
+    }
+
+    /**
+     * 数组长度可能大于 4 * count,只有前 4 * count 个元素有效
+     */
+    public float[] getControls() {
+        return mControls;
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+}
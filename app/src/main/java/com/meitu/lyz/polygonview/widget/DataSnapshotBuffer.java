@@ -0,0 +1,122 @@
+package com.meitu.lyz.polygonview.widget;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 无锁的单槽数据缓冲,用于高频的数据流
+ * 任意线程都可以写入,消费者每次只取出最新的一份快照,未被取出就被覆盖的快照计为丢弃
+ * 快照对象在生产者与消费者之间循环使用,长度不变时不再分配数组
+ * 每份快照同一时刻只属于一个线程:只有从槽位中成功取出快照的线程才会读写它,写入方从不阻塞
+ */
+final class DataSnapshotBuffer {
+
+    /**
+     * 一份数据快照
+     */
+    static final class Snapshot {
+        //小标题,为null时只更新数据
+        String[] keys;
+        float[] values;
+
+        private void set(String[] newKeys, float[] newValues) {
+            if (newKeys == null) {
+                keys = null;
+            } else {
+                if (keys == null || keys.length != newKeys.length) {
+                    keys = new String[newKeys.length];
+                }
+                System.arraycopy(newKeys, 0, keys, 0, newKeys.length);
+            }
+            if (values == null || values.length != newValues.length) {
+                values = new float[newValues.length];
+            }
+            System.arraycopy(newValues, 0, values, 0, newValues.length);
+        }
+    }
+
+    //最新的未被取出的快照
+    private final AtomicReference<Snapshot> mPending = new AtomicReference<>();
+    //可复用的空闲快照
+    private final AtomicReference<Snapshot> mSpare = new AtomicReference<>();
+
+    private final AtomicLong mPublishedCount = new AtomicLong();
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    private final AtomicLong mAppliedCount = new AtomicLong();
+
+    /**
+     * 写入一份快照,会复制传入的数组,调用后可以立即修改它们
+     *
+     * @param keys   小标题,为null时只更新数据
+     * @param values 数据
+     */
+    void publish(String[] keys, float[] values) {
+        Snapshot snapshot = mSpare.getAndSet(null);
+        if (snapshot == null) {
+            snapshot = new Snapshot();
+        }
+        snapshot.set(keys, values);
+        mPublishedCount.incrementAndGet();
+
+        for (; ; ) {
+            Snapshot previous = mPending.get();
+            if (previous == null) {
+                if (mPending.compareAndSet(null, snapshot)) {
+                    return;
+                }
+            } else if (mPending.compareAndSet(previous, null)) {
+                //取得了被覆盖的快照,它带有新的小标题时不能丢掉,否则边数会与数据不一致
+                if (snapshot.keys == null && previous.keys != null
+                        && previous.keys.length == snapshot.values.length) {
+                    snapshot.keys = previous.keys;
+                    previous.keys = null;
+                }
+                mDroppedCount.incrementAndGet();
+                recycle(previous);
+            }
+        }
+    }
+
+    /**
+     * 取出最新的快照,用完后必须调用 {@link #recycle(Snapshot)} 归还
+     *
+     * @return 没有新的快照时为null
+     */
+    Snapshot take() {
+        return mPending.getAndSet(null);
+    }
+
+    boolean hasPending() {
+        return mPending.get() != null;
+    }
+
+    void recycle(Snapshot snapshot) {
+        mSpare.set(snapshot);
+    }
+
+    /**
+     * 消费者应用了一份快照
+     */
+    void onApplied() {
+        mAppliedCount.incrementAndGet();
+    }
+
+    /**
+     * 消费者取出的快照与当前数据集不一致而无法应用,同样计为丢弃
+     */
+    void onRejected() {
+        mDroppedCount.incrementAndGet();
+    }
+
+    long getPublishedCount() {
+        return mPublishedCount.get();
+    }
+
+    long getDroppedCount() {
+        return mDroppedCount.get();
+    }
+
+    long getAppliedCount() {
+        return mAppliedCount.get();
+    }
+}
@@ -0,0 +1,42 @@
+package com.meitu.lyz.polygonview.widget;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * 按固定小数位数、单位及地区格式化数据文字
+ * 内部复用同一个NumberFormat,格式化时加锁,可以被多个后台绘制线程共享
+ */
+public class DecimalValueFormatter implements ValueFormatter {
+
+    private final NumberFormat mNumberFormat;
+    //数据后面追加的单位
+    private final String mUnit;
+
+    public DecimalValueFormatter(int decimalPlaces) {
+        this(decimalPlaces, null, Locale.getDefault());
+    }
+
+    public DecimalValueFormatter(int decimalPlaces, String unit) {
+        this(decimalPlaces, unit, Locale.getDefault());
+    }
+
+    /**
+     * @param decimalPlaces 小数位数
+     * @param unit          单位,可为null
+     * @param locale        决定小数点等符号的地区
+     */
+    public DecimalValueFormatter(int decimalPlaces, String unit, Locale locale) {
+        mNumberFormat = NumberFormat.getNumberInstance(locale);
+        mNumberFormat.setMinimumFractionDigits(decimalPlaces);
+        mNumberFormat.setMaximumFractionDigits(decimalPlaces);
+        mNumberFormat.setGroupingUsed(false);
+        mUnit = unit == null ? "" : unit;
+    }
+
+    @Override
+    public synchronized String format(float value) {
+        String text = mNumberFormat.format(value);
+        return mUnit.isEmpty() ? text : text + mUnit;
+    }
+}
@@ -0,0 +1,65 @@
+package com.meitu.lyz.polygonview.widget;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 进程内共享的单位方向表,按边数缓存
+ * 方向只与边数有关,相同边数的所有多边形共用同一张表,只在第一次使用时计算三角函数
+ * 线程安全,按最近最少使用淘汰;表由所有使用者共享,只能读取
+ */
+final class DirectionTables {
+
+    //最多缓存的边数种类
+    static final int MAX_SIZE = 32;
+
+    private static final Map<Integer, float[]> sTables = new LinkedHashMap<Integer, float[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, float[]> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private DirectionTables() {
+    }
+
+    /**
+     * 获取某个边数的方向表,依次为各顶点方向的x,y
+     * 第一个顶点朝正上方,顺时针排列
+     */
+    static float[] get(int edgeNum) {
+        synchronized (sTables) {
+            float[] table = sTables.get(edgeNum);
+            if (table != null) {
+                return table;
+            }
+        }
+        //在锁外计算,并发计算同一张表时结果相同,保留先放入的一张
+        float[] table = compute(edgeNum);
+        synchronized (sTables) {
+            float[] existing = sTables.get(edgeNum);
+            if (existing != null) {
+                return existing;
+            }
+            sTables.put(edgeNum, table);
+            return table;
+        }
+    }
+
+    private static float[] compute(int edgeNum) {
+        float[] table = new float[edgeNum * 2];
+        //计算中心角的弧度
+        double degree = 2 * Math.PI / edgeNum;
+        for (int i = 0; i < edgeNum; i++) {
+            table[2 * i] = (float) Math.sin(degree * i);
+            table[2 * i + 1] = (float) -Math.cos(degree * i);
+        }
+        return table;
+    }
+
+    static int size() {
+        synchronized (sTables) {
+            return sTables.size();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 文字的碰撞剔除
+ * 文字按坐标轴的角度顺序排列在外圈,只可能与角度相邻的文字重叠,
+ * 因此从优先显示的文字开始顺时针扫描一圈,每个文字只需与上一个保留的文字及起点比较,复杂度为O(n)
+ */
+public class LabelCuller {
+
+    private LabelCuller() {
+    }
+
+    /**
+     * 计算每个文字是否显示
+     *
+     * @param bounds        各文字的区域,每项依次为left,top,right,bottom
+     * @param count         文字个数
+     * @param priorityIndex 总是显示的文字下标,如最大值
+     * @param outVisible    输出各文字是否显示,长度不小于count
+     * @return 显示的文字个数
+     */
+    public static int cull(float[] bounds, int count, int priorityIndex, boolean[] outVisible) {
+        if (count == 0) {
+            return 0;
+        }
+        for (int i = 0; i < count; i++) {
+            outVisible[i] = false;
+        }
+        outVisible[priorityIndex] = true;
+
+        int visibleCount = 1;
+        int last = priorityIndex;
+        for (int k = 1; k < count; k++) {
+            int index = (priorityIndex + k) % count;
+            //扫描到最后时需要与起点比较,避免首尾相接处重叠
+            if (!intersects(bounds, index, last) && !intersects(bounds, index, priorityIndex)) {
+                outVisible[index] = true;
+                last = index;
+                visibleCount++;
+            }
+        }
+        return visibleCount;
+    }
+
+    private static boolean intersects(float[] bounds, int a, int b) {
+        int i = a * 4;
+        int j = b * 4;
+        return bounds[i] < bounds[j + 2] && bounds[j] < bounds[i + 2]
+                && bounds[i + 1] < bounds[j + 3] && bounds[j + 1] < bounds[i + 3];
+    }
+}
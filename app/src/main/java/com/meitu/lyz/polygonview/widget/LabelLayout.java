@@ -0,0 +1,375 @@
+package com.meitu.lyz.polygonview.widget;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 文字排版:测量、折行及定位所有小标题和数值文字,不依赖Android框架
+ * 只在数据、尺寸或文字样式变化时计算,每一帧只按计算好的位置绘制
+ * 文字宽度按样式缓存,相同的文字只测量一次
+ * 每个文字块由若干行小标题及一行数值组成,水平居中,紧贴外圈放置
+ */
+public class LabelLayout {
+
+    //文字样式
+    public static final int STYLE_KEY = 0;
+    public static final int STYLE_VALUE = 1;
+    public static final int STYLE_MAX_KEY = 2;
+    public static final int STYLE_MAX_VALUE = 3;
+    private static final int STYLE_COUNT = 4;
+
+    //超出行数时的省略号
+    static final String ELLIPSIS = "…";
+
+    //方向分量小于该值时视为与坐标轴垂直
+    private static final float EPSILON = 1e-4f;
+
+    private final TextMeasurer mMeasurer;
+    //各样式的文字宽度缓存
+    private final WidthCache[] mWidthCaches = new WidthCache[STYLE_COUNT];
+
+    //各样式的行高及第一行基线到顶部的距离
+    private final float[] mLineHeights = new float[STYLE_COUNT];
+    private final float[] mAscents = new float[STYLE_COUNT];
+
+    //小标题的最大宽度,不大于0时不折行
+    private float mMaxKeyWidth;
+    //小标题的最大行数,超出时最后一行以省略号结尾
+    private int mMaxKeyLines = 2;
+
+    private int mCount;
+    //各文字块的小标题,每块占mMaxKeyLines项
+    private String[] mLines = new String[0];
+    private int[] mLineCounts = new int[0];
+    //各文字块是否为最大值的样式
+    private boolean[] mMax = new boolean[0];
+    //各文字块的宽高
+    private float[] mWidths = new float[0];
+    private float[] mHeights = new float[0];
+    //各文字块的中心
+    private float[] mCenters = new float[0];
+
+    public LabelLayout(TextMeasurer measurer) {
+        mMeasurer = measurer;
+        for (int i = 0; i < STYLE_COUNT; i++) {
+            mWidthCaches[i] = new WidthCache();
+        }
+    }
+
+    /**
+     * 设置某种样式的行高
+     *
+     * @param top    第一行顶部相对基线的偏移,通常为负数
+     * @param bottom 最后一行底部相对基线的偏移
+     */
+    public void setLineMetrics(int style, float top, float bottom) {
+        mLineHeights[style] = bottom - top;
+        mAscents[style] = -top;
+    }
+
+    /**
+     * 文字大小等样式变化后清空宽度缓存
+     */
+    public void invalidateWidths() {
+        for (WidthCache cache : mWidthCaches) {
+            cache.clear();
+        }
+    }
+
+    public void setMaxKeyWidth(float maxKeyWidth) {
+        mMaxKeyWidth = maxKeyWidth;
+    }
+
+    public void setMaxKeyLines(int maxKeyLines) {
+        if (maxKeyLines != mMaxKeyLines) {
+            mMaxKeyLines = Math.max(1, maxKeyLines);
+            //行数变化时已有的小标题需要重新排列
+            mCount = 0;
+            mLines = new String[0];
+        }
+    }
+
+    /**
+     * 设置文字块个数,容量只在不足时扩容
+     */
+    public void setCount(int count) {
+        if (mLineCounts.length < count) {
+            mLines = new String[count * mMaxKeyLines];
+            mLineCounts = new int[count];
+            mMax = new boolean[count];
+            mWidths = new float[count];
+            mHeights = new float[count];
+            mCenters = new float[count * 2];
+        } else if (mLines.length < count * mMaxKeyLines) {
+            mLines = new String[count * mMaxKeyLines];
+        }
+        mCount = count;
+        //边数很多时缓存至少能容纳所有文字块,每次布局不会重新测量
+        for (WidthCache cache : mWidthCaches) {
+            cache.setCapacity(count * 2);
+        }
+    }
+
+    /**
+     * 测量一个文字块,小标题超过最大宽度时折行
+     *
+     * @param isMax 是否以最大值的样式显示
+     */
+    public void measure(int index, String key, String value, boolean isMax) {
+        int keyStyle = isMax ? STYLE_MAX_KEY : STYLE_KEY;
+        int valueStyle = isMax ? STYLE_MAX_VALUE : STYLE_VALUE;
+        mMax[index] = isMax;
+
+        int lineCount = breakKey(index, key, keyStyle);
+        float width = measureText(value, valueStyle);
+        for (int j = 0; j < lineCount; j++) {
+            width = Math.max(width, measureText(mLines[index * mMaxKeyLines + j], keyStyle));
+        }
+        mLineCounts[index] = lineCount;
+        mWidths[index] = width;
+        mHeights[index] = lineCount * mLineHeights[keyStyle] + mLineHeights[valueStyle];
+    }
+
+    /**
+     * 将小标题折成不超过最大行数的若干行
+     *
+     * @return 行数
+     */
+    private int breakKey(int index, String key, int style) {
+        int offset = index * mMaxKeyLines;
+        if (mMaxKeyWidth <= 0 || measureText(key, style) <= mMaxKeyWidth) {
+            mLines[offset] = key;
+            return 1;
+        }
+
+        int start = 0;
+        int length = key.length();
+        int line = 0;
+        while (start < length) {
+            int count = Math.max(1, mMeasurer.breakText(key, start, mMaxKeyWidth, style));
+            if (start + count >= length) {
+                mLines[offset + line++] = key.substring(start);
+                break;
+            }
+            if (line == mMaxKeyLines - 1) {
+                //最后一行放不下时留出省略号的宽度
+                float available = mMaxKeyWidth - measureText(ELLIPSIS, style);
+                count = Math.max(0, mMeasurer.breakText(key, start, available, style));
+                mLines[offset + line++] = key.substring(start, start + count).trim() + ELLIPSIS;
+                break;
+            }
+            //优先在空格处折行
+            int end = start + count;
+            int space = key.lastIndexOf(' ', end);
+            if (space > start) {
+                end = space;
+            }
+            mLines[offset + line++] = key.substring(start, end);
+            start = end;
+            while (start < length && key.charAt(start) == ' ') {
+                start++;
+            }
+        }
+        return line;
+    }
+
+    /**
+     * 所有文字块都不超出 width * height 的区域时,文字块内侧到中心的最大距离
+     *
+     * @param directions 各顶点方向的单位向量,依次为x,y
+     */
+    public float fitRadius(float[] directions, float centerX, float centerY, float width, float height) {
+        float radius = Float.MAX_VALUE;
+        for (int i = 0; i < mCount; i++) {
+            radius = Math.min(radius, fitRadius(i, directions[2 * i], directions[2 * i + 1],
+                    centerX, centerY, width, height));
+        }
+        return radius;
+    }
+
+    /**
+     * 单个文字块沿方向(dx,dy)不超出 width * height 的区域时,文字块内侧到中心的最大距离
+     * 用于只重新测量一个文字块后判断原来的半径是否仍然合适
+     */
+    public float fitRadius(int index, float dx, float dy, float centerX, float centerY, float width, float height) {
+        float halfWidth = mWidths[index] / 2;
+        float halfHeight = mHeights[index] / 2;
+
+        //文字块中心到中心的最大距离
+        float distance = Float.MAX_VALUE;
+        if (dx > EPSILON) {
+            distance = Math.min(distance, (width - centerX - halfWidth) / dx);
+        } else if (dx < -EPSILON) {
+            distance = Math.min(distance, (centerX - halfWidth) / -dx);
+        }
+        if (dy > EPSILON) {
+            distance = Math.min(distance, (height - centerY - halfHeight) / dy);
+        } else if (dy < -EPSILON) {
+            distance = Math.min(distance, (centerY - halfHeight) / -dy);
+        }
+        return distance - extent(index, dx, dy);
+    }
+
+    /**
+     * 将所有文字块紧贴在半径为innerRadius的圆外
+     */
+    public void place(float[] directions, float centerX, float centerY, float innerRadius) {
+        for (int i = 0; i < mCount; i++) {
+            place(i, directions[2 * i], directions[2 * i + 1], centerX, centerY, innerRadius);
+        }
+    }
+
+    /**
+     * 将一个文字块紧贴在半径为innerRadius的圆外,即文字块沿该方向最靠近中心的点落在圆上
+     */
+    public void place(int index, float dx, float dy, float centerX, float centerY, float innerRadius) {
+        float distance = innerRadius + extent(index, dx, dy);
+        mCenters[2 * index] = centerX + distance * dx;
+        mCenters[2 * index + 1] = centerY + distance * dy;
+    }
+
+    /**
+     * 文字块沿方向(dx,dy)从中心到边缘的距离
+     */
+    private float extent(int index, float dx, float dy) {
+        return Math.abs(dx) * mWidths[index] / 2 + Math.abs(dy) * mHeights[index] / 2;
+    }
+
+    /**
+     * 测量文字宽度,优先读取缓存
+     */
+    float measureText(String text, int style) {
+        WidthCache cache = mWidthCaches[style];
+        float width = cache.get(text);
+        if (Float.isNaN(width)) {
+            width = mMeasurer.measureText(text, style);
+            cache.put(text, width);
+        }
+        return width;
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    public int getLineCount(int index) {
+        return mLineCounts[index];
+    }
+
+    public String getLine(int index, int line) {
+        return mLines[index * mMaxKeyLines + line];
+    }
+
+    public float getCenterX(int index) {
+        return mCenters[2 * index];
+    }
+
+    public float getCenterY(int index) {
+        return mCenters[2 * index + 1];
+    }
+
+    public float getWidth(int index) {
+        return mWidths[index];
+    }
+
+    public float getHeight(int index) {
+        return mHeights[index];
+    }
+
+    /**
+     * 小标题第一行的基线
+     */
+    public float getKeyBaseline(int index) {
+        int keyStyle = mMax[index] ? STYLE_MAX_KEY : STYLE_KEY;
+        return getTop(index) + mAscents[keyStyle];
+    }
+
+    /**
+     * 小标题的行高
+     */
+    public float getKeyLineHeight(int index) {
+        return mLineHeights[mMax[index] ? STYLE_MAX_KEY : STYLE_KEY];
+    }
+
+    /**
+     * 数值文字的基线
+     */
+    public float getValueBaseline(int index) {
+        int keyStyle = mMax[index] ? STYLE_MAX_KEY : STYLE_KEY;
+        int valueStyle = mMax[index] ? STYLE_MAX_VALUE : STYLE_VALUE;
+        return getTop(index) + mLineCounts[index] * mLineHeights[keyStyle] + mAscents[valueStyle];
+    }
+
+    public float getLeft(int index) {
+        return mCenters[2 * index] - mWidths[index] / 2;
+    }
+
+    public float getTop(int index) {
+        return mCenters[2 * index + 1] - mHeights[index] / 2;
+    }
+
+    public float getRight(int index) {
+        return mCenters[2 * index] + mWidths[index] / 2;
+    }
+
+    public float getBottom(int index) {
+        return mCenters[2 * index + 1] + mHeights[index] / 2;
+    }
+
+    /**
+     * 有界的LRU文字宽度缓存,超出容量时只移除最久未使用的一项
+     * 宽度保存在可变的项中,读写时不装箱,被移除的项在下次写入时复用
+     */
+    private static final class WidthCache {
+
+        private static final int MIN_CAPACITY = 256;
+
+        //按访问顺序排列,第一项为最久未使用的
+        private final LinkedHashMap<String, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+        private int mCapacity = MIN_CAPACITY;
+        private Entry mSpare;
+
+        /**
+         * @return 文字的宽度,未缓存时为NaN
+         */
+        float get(String text) {
+            Entry entry = mEntries.get(text);
+            return entry == null ? Float.NaN : entry.width;
+        }
+
+        void put(String text, float width) {
+            Entry entry = mSpare != null ? mSpare : new Entry();
+            mSpare = null;
+            entry.width = width;
+            mEntries.put(text, entry);
+            trim();
+        }
+
+        /**
+         * 容量不小于256
+         */
+        void setCapacity(int capacity) {
+            mCapacity = Math.max(MIN_CAPACITY, capacity);
+            trim();
+        }
+
+        void clear() {
+            mEntries.clear();
+        }
+
+        private void trim() {
+            if (mEntries.size() <= mCapacity) {
+                return;
+            }
+            Iterator<Entry> iterator = mEntries.values().iterator();
+            while (mEntries.size() > mCapacity) {
+                mSpare = iterator.next();
+                iterator.remove();
+            }
+        }
+
+        private static final class Entry {
+            float width;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.util.LruCache;
+
+import com.meitu.lyz.polygonview.R;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 布局中设置的自定义属性,包括样式及View自身的属性
+ * 同一主题下属性内容相同的布局只解析一次,列表中的每一项都不会重复解析TypedArray,
+ * 未设置的属性沿用主题的默认样式,不再读取资源
+ */
+final class PolygonAttributes {
+
+    //未设置动画时长
+    static final long NO_ANIMATION_DURATION = -1;
+    //每个主题缓存的属性组合个数
+    private static final int CACHE_SIZE = 16;
+    //布局中没有设置任何自定义属性及style时的键
+    private static final String EMPTY_KEY = "";
+
+    //各主题下以属性内容为键的解析结果
+    private static final Map<Resources.Theme, LruCache<String, PolygonAttributes>> sCaches = new WeakHashMap<>();
+
+    final PolygonStyle mStyle;
+    //动画时长,未设置时为NO_ANIMATION_DURATION
+    final long mAnimationDuration;
+    final boolean mBackgroundCacheEnabled;
+
+    private PolygonAttributes(PolygonStyle style, long animationDuration, boolean backgroundCacheEnabled) {
+        mStyle = style;
+        mAnimationDuration = animationDuration;
+        mBackgroundCacheEnabled = backgroundCacheEnabled;
+    }
+
+    /**
+     * 获取布局属性对应的解析结果,缓存中没有时才解析TypedArray
+     */
+    static PolygonAttributes obtain(Context context, AttributeSet attrs) {
+        String key = buildKey(attrs);
+        LruCache<String, PolygonAttributes> cache;
+        synchronized (sCaches) {
+            Resources.Theme theme = context.getTheme();
+            cache = sCaches.get(theme);
+            if (cache == null) {
+                cache = new LruCache<>(CACHE_SIZE);
+                sCaches.put(theme, cache);
+            }
+        }
+        PolygonAttributes attributes = cache.get(key);
+        if (attributes == null) {
+            attributes = parse(context, attrs, key);
+            cache.put(key, attributes);
+        }
+        return attributes;
+    }
+
+    private static PolygonAttributes parse(Context context, AttributeSet attrs, String key) {
+        PolygonStyle themeStyle = PolygonStyle.obtain(context);
+        if (EMPTY_KEY.equals(key)) {
+            return new PolygonAttributes(themeStyle, NO_ANIMATION_DURATION, false);
+        }
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.PolygonView);
+        PolygonStyle style = PolygonStyle.fromAttributes(typedArray, themeStyle);
+        long animationDuration = typedArray.hasValue(R.styleable.PolygonView_animation_duration)
+                ? typedArray.getInteger(R.styleable.PolygonView_animation_duration, 0) : NO_ANIMATION_DURATION;
+        boolean backgroundCacheEnabled = typedArray.getBoolean(R.styleable.PolygonView_background_cache, false);
+        typedArray.recycle();
+        return new PolygonAttributes(style, animationDuration, backgroundCacheEnabled);
+    }
+
+    /**
+     * 以style及各个自定义属性的原始值组成缓存的键
+     * 引用主题属性的值随主题变化,因此缓存按主题区分
+     */
+    private static String buildKey(AttributeSet attrs) {
+        if (attrs == null) {
+            return EMPTY_KEY;
+        }
+        StringBuilder builder = null;
+        int styleAttribute = attrs.getStyleAttribute();
+        if (styleAttribute != 0) {
+            builder = new StringBuilder();
+            builder.append(styleAttribute).append(';');
+        }
+        for (int i = 0, count = attrs.getAttributeCount(); i < count; i++) {
+            int nameResource = attrs.getAttributeNameResource(i);
+            for (int attr : R.styleable.PolygonView) {
+                if (attr == nameResource) {
+                    if (builder == null) {
+                        builder = new StringBuilder();
+                    }
+                    builder.append(nameResource).append('=').append(attrs.getAttributeValue(i)).append(';');
+                    break;
+                }
+            }
+        }
+        return builder == null ? EMPTY_KEY : builder.toString();
+    }
+}
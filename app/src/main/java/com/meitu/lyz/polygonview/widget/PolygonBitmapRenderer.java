@@ -0,0 +1,238 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在后台线程中批量将数据集绘制为同一尺寸的Bitmap,用于缩略图及分享图
+ * 线程数固定,每个工作线程持有自己的 {@link PolygonRenderer} 及Canvas,
+ * 用完的Bitmap通过 {@link #recycle(Bitmap)} 归还后会被复用,避免每张图都分配一张新的Bitmap
+ * <pre>
+ * PolygonBitmapRenderer renderer = new PolygonBitmapRenderer(view.copyRenderer(), 200, 200);
+ * renderer.renderAll(keys, values, callback);
+ * </pre>
+ */
+public class PolygonBitmapRenderer {
+
+    /**
+     * 绘制完成的回调,在主线程中调用
+     */
+    public interface Callback {
+
+        /**
+         * @param index  数据集在批量请求中的下标
+         * @param bitmap 绘制结果,数据不合法时为null;不再使用时调用 {@link #recycle(Bitmap)} 归还
+         */
+        void onRendered(int index, Bitmap bitmap);
+    }
+
+    //默认最多缓存的空闲Bitmap数量
+    private static final int DEFAULT_POOL_SIZE = 4;
+
+    //Bitmap的尺寸
+    private final int mWidth;
+    private final int mHeight;
+
+    //样式模板,只在工作线程创建自己的绘制器时读取,不再修改
+    private final PolygonRenderer mTemplate;
+
+    //固定线程数的后台线程池
+    private final ThreadPoolExecutor mExecutor;
+    //每个工作线程各自的绘制器及Canvas
+    private final ThreadLocal<PolygonRenderer> mRenderers;
+    private final ThreadLocal<Canvas> mCanvases = new ThreadLocal<>();
+
+    //空闲的Bitmap,都与mWidth,mHeight一致
+    private final ArrayBlockingQueue<Bitmap> mBitmapPool;
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    public PolygonBitmapRenderer(PolygonRenderer template, int width, int height) {
+        this(template, width, height, defaultThreadCount(), DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * @param template    样式模板,会复制一份,之后对它的修改不影响绘制结果
+     * @param width       Bitmap的宽
+     * @param height      Bitmap的高
+     * @param threadCount 工作线程数
+     * @param poolSize    最多缓存的空闲Bitmap数量
+     */
+    public PolygonBitmapRenderer(PolygonRenderer template, int width, int height, int threadCount, int poolSize) {
+        if (width <= 0 || height <= 0 || threadCount <= 0 || poolSize <= 0) {
+            throw new IllegalArgumentException("width, height, threadCount and poolSize must be positive");
+        }
+        mWidth = width;
+        mHeight = height;
+        mTemplate = new PolygonRenderer(template);
+        mBitmapPool = new ArrayBlockingQueue<>(poolSize);
+
+        mRenderers = new ThreadLocal<PolygonRenderer>() {
+            @Override
+            protected PolygonRenderer initialValue() {
+                PolygonRenderer renderer = new PolygonRenderer(mTemplate);
+                renderer.setSize(mWidth, mHeight);
+                return renderer;
+            }
+        };
+
+        mExecutor = new ThreadPoolExecutor(threadCount, threadCount, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new RenderThreadFactory());
+        //空闲时回收所有线程
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 至少一个线程,最多留一个核心给主线程
+     */
+    private static int defaultThreadCount() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * 在后台绘制一个数据集,绘制前调用者不能修改传入的数组
+     *
+     * @return 绘制结果,数据不合法时为null
+     */
+    public Future<Bitmap> render(final String[] keys, final float[] values) {
+        return mExecutor.submit(new Callable<Bitmap>() {
+            @Override
+            public Bitmap call() {
+                return renderNow(keys, values);
+            }
+        });
+    }
+
+    /**
+     * 批量绘制,每张绘制完成后在主线程中回调
+     *
+     * @param keys     各数据集的小标题
+     * @param values   各数据集的数据,个数与keys一致
+     * @param callback 绘制完成的回调
+     * @return 各数据集的绘制任务,可用于取消
+     */
+    public List<Future<?>> renderAll(String[][] keys, float[][] values, final Callback callback) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values must have the same length");
+        }
+        List<Future<?>> futures = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            final int index = i;
+            final String[] itemKeys = keys[i];
+            final float[] itemValues = values[i];
+            futures.add(mExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    final Bitmap bitmap = renderNow(itemKeys, itemValues);
+                    mMainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            callback.onRendered(index, bitmap);
+                        }
+                    });
+                }
+            }));
+        }
+        return futures;
+    }
+
+    /**
+     * 在工作线程中绘制
+     */
+    private Bitmap renderNow(String[] keys, float[] values) {
+        PolygonRenderer renderer = mRenderers.get();
+        if (!renderer.setData(keys, values)) {
+            return null;
+        }
+        Bitmap bitmap = obtainBitmap();
+        Canvas canvas = mCanvases.get();
+        if (canvas == null) {
+            canvas = new Canvas();
+            mCanvases.set(canvas);
+        }
+        canvas.setBitmap(bitmap);
+        renderer.draw(canvas);
+        //不持有Bitmap,使其归还后可以被其他线程复用
+        canvas.setBitmap(null);
+        return bitmap;
+    }
+
+    /**
+     * 优先复用空闲的Bitmap
+     */
+    private Bitmap obtainBitmap() {
+        Bitmap bitmap = mBitmapPool.poll();
+        if (bitmap == null) {
+            return Bitmap.createBitmap(mWidth, mHeight, Bitmap.Config.ARGB_8888);
+        }
+        bitmap.eraseColor(Color.TRANSPARENT);
+        return bitmap;
+    }
+
+    /**
+     * 归还不再使用的Bitmap,池已满或尺寸不一致时直接回收
+     */
+    public void recycle(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        if (bitmap.getWidth() != mWidth || bitmap.getHeight() != mHeight || !mBitmapPool.offer(bitmap)) {
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * 停止接收新的任务,已提交的任务会继续完成,并回收池中的Bitmap
+     */
+    public void shutdown() {
+        mExecutor.shutdown();
+        Bitmap bitmap;
+        while ((bitmap = mBitmapPool.poll()) != null) {
+            bitmap.recycle();
+        }
+    }
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public int getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * 以后台优先级运行的工作线程
+     */
+    private static class RenderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "PolygonRenderer-" + mCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
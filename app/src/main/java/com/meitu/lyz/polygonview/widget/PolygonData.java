@@ -0,0 +1,123 @@
+package com.meitu.lyz.polygonview.widget;
+
+import java.util.Map;
+
+/**
+ * 多边形的数据集,保存小标题、数据及最大值的下标
+ * 数据个数不变时复用数组,单项更新时增量维护最大值下标
+ */
+public class PolygonData {
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final float[] EMPTY_VALUES = new float[0];
+
+    //小标题
+    private String[] mKeys = EMPTY_KEYS;
+    //数据集
+    private float[] mValues = EMPTY_VALUES;
+    //数据个数
+    private int mSize;
+    //最大值的下标
+    private int mMaxValueIndex;
+
+
+    /**
+     * 从键值对中读取数据集
+     */
+    public void set(Map<String, Float> data) {
+        ensureSize(data.size());
+
+        int i = 0;
+        for (Map.Entry<String, Float> entry : data.entrySet()) {
+            mKeys[i] = entry.getKey();
+            mValues[i] = entry.getValue();
+            i++;
+        }
+        findMaxValueIndex();
+    }
+
+    /**
+     * 从数组中复制数据集
+     */
+    public void set(String[] keys, float[] values) {
+        ensureSize(keys.length);
+        System.arraycopy(keys, 0, mKeys, 0, mSize);
+        System.arraycopy(values, 0, mValues, 0, mSize);
+        findMaxValueIndex();
+    }
+
+    /**
+     * 小标题不变,只更新全部数据
+     */
+    public void setValues(float[] values) {
+        System.arraycopy(values, 0, mValues, 0, mSize);
+        findMaxValueIndex();
+    }
+
+    /**
+     * 更新单个数据,只在原最大值变小时重新查找最大值
+     *
+     * @return 最大值的下标是否发生变化
+     */
+    public boolean setValue(int index, float value) {
+        float oldValue = mValues[index];
+        mValues[index] = value;
+
+        int oldMaxIndex = mMaxValueIndex;
+        if (index == mMaxValueIndex) {
+            if (value < oldValue) {
+                findMaxValueIndex();
+            }
+        } else if (value > mValues[mMaxValueIndex]
+                || (value == mValues[mMaxValueIndex] && index < mMaxValueIndex)) {
+            //与完整查找保持一致,相等时取下标较小的
+            mMaxValueIndex = index;
+        }
+        return oldMaxIndex != mMaxValueIndex;
+    }
+
+    private void ensureSize(int size) {
+        if (mSize != size) {
+            mKeys = new String[size];
+            mValues = new float[size];
+            mSize = size;
+        }
+    }
+
+    private void findMaxValueIndex() {
+        mMaxValueIndex = 0;
+        for (int i = 1; i < mSize; i++) {
+            if (mValues[i] > mValues[mMaxValueIndex]) {
+                mMaxValueIndex = i;
+            }
+        }
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public String[] getKeys() {
+        return mKeys;
+    }
+
+    public float[] getValues() {
+        return mValues;
+    }
+
+    public String getKey(int index) {
+        return mKeys[index];
+    }
+
+    public float getValue(int index) {
+        return mValues[index];
+    }
+
+    public int getMaxValueIndex() {
+        return mMaxValueIndex;
+    }
+
+    public float getMaxValue() {
+        return mSize == 0 ? 0 : mValues[mMaxValueIndex];
+    }
+}
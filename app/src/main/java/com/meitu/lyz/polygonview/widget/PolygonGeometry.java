@@ -0,0 +1,180 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 多边形的几何计算,不依赖Android框架,可直接在JVM上测试
+ * 所有点集都以x,y交错的方式保存在可复用的float数组中,
+ * 边数不增加时重新布局不会分配任何对象
+ */
+public class PolygonGeometry {
+
+    private static final float[] EMPTY = new float[0];
+
+    //边数
+    private int mEdgeNum;
+
+    //中心点
+    private float mCenterX, mCenterY;
+    //外圈半径
+    private float mRadius;
+
+    //各个顶点方向的单位向量,依次为x,y,与相同边数的其他实例共享,只能读取
+    private float[] mDirections = EMPTY;
+    //外圈的点集
+    private float[] mOutsidePoints = EMPTY;
+    //数据集遮罩层的点集
+    private float[] mValuePoints = EMPTY;
+
+
+    /**
+     * 设置边数,边数变化时换用该边数的共享方向表
+     * 缓冲区只在容量不足时扩容
+     */
+    public void setEdgeNum(int edgeNum) {
+        if (edgeNum == mEdgeNum) {
+            return;
+        }
+        mEdgeNum = edgeNum;
+        mDirections = edgeNum == 0 ? EMPTY : DirectionTables.get(edgeNum);
+
+        int size = edgeNum * 2;
+        if (mOutsidePoints.length < size) {
+            mOutsidePoints = new float[size];
+            mValuePoints = new float[size];
+        }
+    }
+
+    /**
+     * 计算外圈的点,文字的位置由 {@link LabelLayout} 计算
+     *
+     * @param radius 外圈半径
+     */
+    public void layout(float centerX, float centerY, float radius) {
+        mCenterX = centerX;
+        mCenterY = centerY;
+        mRadius = radius;
+
+        for (int i = 0, size = mEdgeNum * 2; i < size; i += 2) {
+            float dx = mDirections[i];
+            float dy = mDirections[i + 1];
+            mOutsidePoints[i] = centerX + radius * dx;
+            mOutsidePoints[i + 1] = centerY + radius * dy;
+        }
+    }
+
+    /**
+     * 按固定比例计算数据集遮罩层的点
+     */
+    public void computeValuePoints(float rate) {
+        for (int i = 0; i < mEdgeNum; i++) {
+            computeValuePoint(i, rate);
+        }
+    }
+
+    /**
+     * 按各个顶点各自的比例计算数据集遮罩层的点
+     */
+    public void computeValuePoints(float[] rates) {
+        for (int i = 0; i < mEdgeNum; i++) {
+            computeValuePoint(i, rates[i]);
+        }
+    }
+
+    /**
+     * 计算单个顶点在数据集遮罩层上的位置
+     *
+     * @param rate 顶点到中心的距离与外圈半径的比例
+     */
+    public void computeValuePoint(int index, float rate) {
+        float length = mRadius * rate;
+        mValuePoints[2 * index] = mCenterX + length * mDirections[2 * index];
+        mValuePoints[2 * index + 1] = mCenterY + length * mDirections[2 * index + 1];
+    }
+
+    /**
+     * 将从中心到外圈的分割线写入数组,供 Canvas.drawLines 一次绘制
+     *
+     * @param out  输出,每条线依次为startX,startY,stopX,stopY,长度不小于 4 * edgeNum
+     * @param step 每隔几条取一条
+     * @return 写入的float个数
+     */
+    public int fillSpokeLines(float[] out, int step) {
+        int count = 0;
+        for (int i = 0; i < mEdgeNum; i += step) {
+            out[count++] = mCenterX;
+            out[count++] = mCenterY;
+            out[count++] = mOutsidePoints[2 * i];
+            out[count++] = mOutsidePoints[2 * i + 1];
+        }
+        return count;
+    }
+
+    /**
+     * 找出点所在扇区对应的坐标轴,只需一次atan2,与边数无关
+     * 每条坐标轴左右各半个中心角的范围都属于它
+     *
+     * @return 坐标轴的下标,没有顶点或点与中心重合时为-1
+     */
+    public int findAxis(float x, float y) {
+        float dx = x - mCenterX;
+        float dy = y - mCenterY;
+        if (mEdgeNum == 0 || (dx == 0 && dy == 0)) {
+            return -1;
+        }
+        //第一个顶点朝正上方,顺时针排列
+        double angle = Math.atan2(dx, -dy);
+        if (angle < 0) {
+            angle += 2 * Math.PI;
+        }
+        return (int) (Math.round(angle * mEdgeNum / (2 * Math.PI)) % mEdgeNum);
+    }
+
+    /**
+     * 点到中心的距离的平方
+     */
+    public float distanceSquareToCenter(float x, float y) {
+        float dx = x - mCenterX;
+        float dy = y - mCenterY;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * 点到数据集遮罩层某个顶点的距离的平方
+     */
+    public float distanceSquareToValuePoint(int index, float x, float y) {
+        float dx = x - mValuePoints[2 * index];
+        float dy = y - mValuePoints[2 * index + 1];
+        return dx * dx + dy * dy;
+    }
+
+    public int getEdgeNum() {
+        return mEdgeNum;
+    }
+
+    public float getCenterX() {
+        return mCenterX;
+    }
+
+    public float getCenterY() {
+        return mCenterY;
+    }
+
+    public float getRadius() {
+        return mRadius;
+    }
+
+    /**
+     * 以下数组长度可能大于边数的两倍,只有前 2 * edgeNum 个元素有效
+     * 方向数组与相同边数的其他实例共享,不能修改
+     */
+    public float[] getDirections() {
+        return mDirections;
+    }
+
+    public float[] getOutsidePoints() {
+        return mOutsidePoints;
+    }
+
+    public float[] getValuePoints() {
+        return mValuePoints;
+    }
+}
@@ -0,0 +1,139 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.os.Trace;
+
+/**
+ * 绘制及布局各阶段的耗时统计
+ * 通过 {@link PolygonView#setMetrics(PolygonMetrics)} 开启,未设置时各阶段只多一次判空
+ * 每个阶段的耗时以纳秒记录在 {@link LatencyHistogram} 中,可选地同时输出systrace区段
+ * 记录在主线程进行,统计结果可在任意线程读取
+ * <pre>
+ * PolygonMetrics metrics = new PolygonMetrics(false);
+ * view.setMetrics(metrics);
+ * PolygonMetrics.Stats stats = metrics.getStats(PolygonMetrics.PHASE_DRAW_COVER);
+ * </pre>
+ */
+public class PolygonMetrics {
+
+    //绘制背景圆及虚线圈
+    public static final int PHASE_DRAW_BACKGROUND_CIRCLE = 0;
+    //绘制分割线
+    public static final int PHASE_DRAW_DIVIDE_LINES = 1;
+    //绘制叠加的数据集
+    public static final int PHASE_DRAW_SERIES = 2;
+    //绘制遮罩层
+    public static final int PHASE_DRAW_COVER = 3;
+    //绘制遮罩层边界
+    public static final int PHASE_DRAW_COVER_EDGE = 4;
+    //绘制文字
+    public static final int PHASE_DRAW_TEXT = 5;
+    //整个onDraw
+    public static final int PHASE_DRAW = 6;
+    //尺寸变化后重新计算布局
+    public static final int PHASE_SIZE_CHANGED = 7;
+    //绑定数据集
+    public static final int PHASE_BIND_DATA = 8;
+    public static final int PHASE_COUNT = 9;
+
+    //systrace中的区段名
+    private static final String[] SECTION_NAMES = {
+            "PolygonView#drawBackgroundCircle",
+            "PolygonView#drawDivideLines",
+            "PolygonView#drawSeries",
+            "PolygonView#drawCover",
+            "PolygonView#drawCoverEdge",
+            "PolygonView#drawText",
+            "PolygonView#onDraw",
+            "PolygonView#onSizeChanged",
+            "PolygonView#bindData"};
+
+    private final LatencyHistogram[] mHistograms = new LatencyHistogram[PHASE_COUNT];
+    private final boolean mTraceEnabled;
+
+    public PolygonMetrics() {
+        this(false);
+    }
+
+    /**
+     * @param traceEnabled 是否同时以 {@link Trace} 输出各阶段的区段
+     */
+    public PolygonMetrics(boolean traceEnabled) {
+        mTraceEnabled = traceEnabled;
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            mHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * 开始一个阶段
+     *
+     * @return 开始时间,传给 {@link #end(int, long)}
+     */
+    long begin(int phase) {
+        if (mTraceEnabled) {
+            Trace.beginSection(SECTION_NAMES[phase]);
+        }
+        return System.nanoTime();
+    }
+
+    void end(int phase, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        if (mTraceEnabled) {
+            Trace.endSection();
+        }
+        LatencyHistogram histogram = mHistograms[phase];
+        synchronized (histogram) {
+            histogram.record(duration);
+        }
+    }
+
+    /**
+     * 某个阶段目前为止的统计结果
+     */
+    public Stats getStats(int phase) {
+        LatencyHistogram histogram = mHistograms[phase];
+        synchronized (histogram) {
+            return new Stats(phase, histogram.getCount(), histogram.getPercentile(50),
+                    histogram.getPercentile(95), histogram.getPercentile(99), histogram.getMax());
+        }
+    }
+
+    /**
+     * 清空所有阶段的统计
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : mHistograms) {
+            synchronized (histogram) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * 一个阶段的统计结果,耗时单位为纳秒
+     */
+    public static final class Stats {
+
+        public final int phase;
+        public final long count;
+        public final long p50;
+        public final long p95;
+        public final long p99;
+        public final long max;
+
+        Stats(int phase, long count, long p50, long p95, long p99, long max) {
+            this.phase = phase;
+            this.count = count;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return SECTION_NAMES[phase] + "{count=" + count + ", p50=" + p50 + "ns, p95=" + p95
+                    + "ns, p99=" + p99 + "ns, max=" + max + "ns}";
+        }
+    }
+}
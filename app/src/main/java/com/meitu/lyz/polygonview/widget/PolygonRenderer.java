@@ -0,0 +1,2126 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PathEffect;
+import android.graphics.PointF;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.graphics.Typeface;
+import android.os.Build;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多边形的绘制器,保存样式、数据及所有计算结果,可绘制到任意Canvas上
+ * {@link PolygonView} 将绘制委托给它,也可以脱离View在后台线程中绘制到Bitmap上
+ * 非线程安全,同一个实例只能在一个线程中使用
+ *
+ * @author LYZ 2018.04.26
+ */
+public class PolygonRenderer {
+
+    //以Path绘制遮罩层,逐条绘制分割线
+    public static final int RENDER_MODE_PATH = 0;
+    //以三角扇顶点数组绘制遮罩层,一次绘制所有分割线
+    public static final int RENDER_MODE_VERTICES = 1;
+
+    //硬件加速从Android Q开始支持drawVertices
+    private static final int API_HARDWARE_VERTICES = 29;
+
+    //共享的样式,同时提供FontMetrics、Shader及PathEffect的缓存
+    private PolygonStyle mStyle;
+
+    //边数
+    private int mEdgeNum;
+
+    //小标题、数据集及最大值的下标
+    private PolygonData mData = new PolygonData();
+
+    //绘制区域的宽高
+    private int mWidth, mHeight;
+
+    //边界及分隔线宽度
+    private int mEdgeWidth;
+    //数据集遮罩层边界线宽度
+    private int mCoverEdgeWidth;
+
+    //多边形的半径
+    private int mRadius;
+    //中间四个圈的半径
+    private int[] mBackgroundRadius = new int[4];
+    //绘制虚线的PathEffect
+    private PathEffect mPathEffect;
+
+    //中间多边形的比例,即数据等于满值时顶点所在的位置
+    private float mPolygonRate;
+
+    //满值,不大于0时以数据集中的最大值作为满值
+    private float mMaxValue;
+
+    //计算目标比例时使用的满值
+    private float mCoverScale;
+    //最近若干次更新中最大值的滑动窗口,为null时只以当前数据集的最大值作为满值
+    private SlidingWindowMax mScaleWindow;
+
+    //是否在各圈上标注对应的数值
+    private boolean mRingLabelsEnabled;
+    //背景圈及外圈对应数值的文字,只在满值或比例变化时重新格式化
+    private String[] mRingLabels = new String[RING_LABEL_COUNT];
+    private float mRingLabelScale = -1;
+    private float mRingLabelRate = -1;
+    private Paint mRingLabelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    //4个背景圈及外圈
+    private static final int RING_LABEL_COUNT = 5;
+    //刻度文字相对数值文字的大小
+    private static final float RING_LABEL_TEXT_SCALE = 0.6f;
+    //各顶点的目标比例
+    private float[] mTargetRates;
+    //各顶点比例的过渡
+    private ValueTransition mCoverTransition = new ValueTransition();
+    //是否有过渡正在进行
+    private boolean mTransitionRunning;
+
+    //可单独修改并随状态保存的样式属性个数
+    private static final int STYLE_PROPERTY_COUNT = 18;
+
+    //小标题和数据的文字大小，颜色
+    private int mKeyTextSize;
+    private int mValueTextSize;
+    private int mKeyTextColor;
+    private int mValueTextColor;
+
+    //数据最大的下小标题和数据的文字大小，颜色
+    private int mMaxKeyTextSize;
+    private int mMaxValueTextSize;
+    private int mMaxKeyTextColor;
+    private int mMaxValueTextColor;
+
+    //用于获取文字高度的FontMetrics
+    private Paint.FontMetrics mKeyFontMetrics = new Paint.FontMetrics();
+    private Paint.FontMetrics mValueFontMetrics = new Paint.FontMetrics();
+    private Paint.FontMetrics mMaxKeyFontMetrics = new Paint.FontMetrics();
+    private Paint.FontMetrics mMaxValueFontMetrics = new Paint.FontMetrics();
+
+    //格式化后的数据文字
+    private ValueLabelCache mLabelCache = new ValueLabelCache();
+    //文字的测量、折行及位置
+    private LabelLayout mLabelLayout = new LabelLayout(new PaintTextMeasurer());
+    //小标题的最大宽度与绘制区域短边的比例
+    private static final float MAX_KEY_WIDTH_RATIO = 0.3f;
+    //小标题的最大行数
+    private static final int MAX_KEY_LINES = 2;
+
+    //文字和多边形的间距
+    private int mTextGraphMargin;
+
+    //边界及分割线的颜色
+    private int mEdgeColor;
+    //数据集遮罩层边界的颜色
+    private int mCoverEdgeColor;
+    //数据集遮罩层的渐变起始颜色
+    private int mCoverStartColor;
+    //数据集遮罩层的渐变结束颜色
+    private int mCoverEndColor;
+
+    //数据集遮罩层的透明度
+    private int mCoverAlpha;
+
+    //多边形中心点
+    private PointF mCenterPoint = new PointF();
+
+    //外圈及数据集遮罩层的点集
+    private PolygonGeometry mGeometry = new PolygonGeometry();
+
+    //数据集绘制路径,重新计算时复用
+    private Path mValueEdgePath = new Path();
+    //是否以经过各顶点的平滑曲线绘制遮罩层
+    private boolean mSmoothCoverEnabled;
+    //平滑曲线各段的控制点
+    private CoverSpline mCoverSpline = new CoverSpline();
+
+    //叠加显示的其他数据集,与主数据集共享坐标轴
+    private List<PolygonSeries> mSeries = new ArrayList<>();
+    //数据集遮罩层的范围,不包含边界线宽
+    private RectF mCoverBounds = new RectF();
+
+    //选中的坐标轴,-1时没有选中
+    private int mSelectedIndex = -1;
+    //选中坐标轴与左右相邻顶点围成的遮罩层区域
+    private Path mHighlightPath = new Path();
+    //高亮区域的范围,不包含线宽
+    private RectF mHighlightBounds = new RectF();
+    //高亮区域的透明度
+    private static final int HIGHLIGHT_ALPHA = 0x40;
+
+    //是否开启细节分级,用于边数很多的情况:文字碰撞剔除、分割线抽稀及遮罩层简化
+    private boolean mLevelOfDetailEnabled;
+    //各文字是否显示
+    private boolean[] mLabelVisible = new boolean[0];
+    //碰撞检测时各文字的区域,每项依次为left,top,right,bottom
+    private float[] mLabelBounds = new float[0];
+    private RectF mLabelRect = new RectF();
+    //分割线在外圈上的最小间距
+    private int mMinSpokeSpacing;
+    //分割线的绘制间隔,每隔几条绘制一条
+    private int mSpokeStep = 1;
+    //遮罩层相邻顶点距离的平方小于该值时合并,即小于半个像素
+    private static final float SIMPLIFY_DISTANCE_SQUARE = 0.25f;
+
+    //绘制方式
+    private int mRenderMode = RENDER_MODE_PATH;
+    //分割线的端点,只在几何变化时重新计算
+    private float[] mSpokeLines = new float[0];
+    private int mSpokeLineCount;
+    //遮罩层的三角扇网格及其Paint
+    private CoverMesh mCoverMesh = new CoverMesh();
+    private Paint mCoverMeshPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    //背景层的版本,背景层每次发生变化时加一,供外部的背景缓存判断是否需要重新绘制
+    private int mBackgroundGeneration;
+
+    //样式修改后需要重新计算的部分
+    //文字的FontMetrics
+    static final int DIRTY_FONT_METRICS = 1;
+    //半径、内部圆及文字位置
+    static final int DIRTY_LAYOUT = 1 << 1;
+    //内部圆的虚线效果
+    static final int DIRTY_PATH_EFFECT = 1 << 2;
+    //数据集遮罩层的渐变
+    static final int DIRTY_SHADER = 1 << 3;
+    //数据集遮罩层各顶点的比例
+    static final int DIRTY_COVER_RATES = 1 << 4;
+    //数据集遮罩层的点集及路径
+    static final int DIRTY_COVER_POINTS = 1 << 5;
+    //背景层
+    static final int DIRTY_BACKGROUND = 1 << 6;
+    //文字的测量及折行
+    static final int DIRTY_LABELS = 1 << 7;
+    //整体替换样式
+    static final int DIRTY_ALL = DIRTY_FONT_METRICS | DIRTY_LAYOUT | DIRTY_PATH_EFFECT | DIRTY_SHADER
+            | DIRTY_COVER_RATES | DIRTY_COVER_POINTS | DIRTY_BACKGROUND | DIRTY_LABELS;
+
+    //各个部分的Paint
+    private Paint mEdgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    //每种文字样式各自的Paint,绘制时无需修改文字大小和颜色
+    private Paint mKeyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mValuePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mMaxKeyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mMaxValuePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mCoverPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mCoverEdgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    //高亮的遮罩层区域及分割线,与文字一样在样式变化时配置好,绘制时不再修改
+    private Paint mHighlightFillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mHighlightLinePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mHighlightKeyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mHighlightValuePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mHighlightMaxKeyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private Paint mHighlightMaxValuePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    //各阶段的耗时统计,为null时不统计
+    private PolygonMetrics mMetrics;
+
+    /**
+     * 以主题的默认样式创建
+     */
+    public PolygonRenderer(Context context) {
+        this(PolygonStyle.obtain(context));
+    }
+
+    public PolygonRenderer(PolygonStyle style) {
+        mLabelLayout.setMaxKeyLines(MAX_KEY_LINES);
+        readStyle(style);
+        initPaint();
+        initFontMetrics();
+    }
+
+    /**
+     * 复制另一个绘制器的样式,包括单独修改过的部分,不复制数据集及尺寸
+     * 数据文字的 {@link ValueFormatter} 会被共享
+     */
+    public PolygonRenderer(PolygonRenderer other) {
+        mStyle = other.mStyle;
+        mEdgeWidth = other.mEdgeWidth;
+        mCoverEdgeWidth = other.mCoverEdgeWidth;
+        mPolygonRate = other.mPolygonRate;
+        mMaxValue = other.mMaxValue;
+        mKeyTextSize = other.mKeyTextSize;
+        mValueTextSize = other.mValueTextSize;
+        mKeyTextColor = other.mKeyTextColor;
+        mValueTextColor = other.mValueTextColor;
+        mMaxKeyTextSize = other.mMaxKeyTextSize;
+        mMaxValueTextSize = other.mMaxValueTextSize;
+        mMaxKeyTextColor = other.mMaxKeyTextColor;
+        mMaxValueTextColor = other.mMaxValueTextColor;
+        mTextGraphMargin = other.mTextGraphMargin;
+        mEdgeColor = other.mEdgeColor;
+        mCoverEdgeColor = other.mCoverEdgeColor;
+        mCoverStartColor = other.mCoverStartColor;
+        mCoverEndColor = other.mCoverEndColor;
+        mCoverAlpha = other.mCoverAlpha;
+        mLevelOfDetailEnabled = other.mLevelOfDetailEnabled;
+        if (other.mScaleWindow != null) {
+            mScaleWindow = new SlidingWindowMax(other.mScaleWindow.getCapacity());
+        }
+        mRingLabelsEnabled = other.mRingLabelsEnabled;
+        mSmoothCoverEnabled = other.mSmoothCoverEnabled;
+        mMinSpokeSpacing = other.mMinSpokeSpacing;
+        mRenderMode = other.mRenderMode;
+        mLabelCache.setFormatter(other.mLabelCache.getFormatter());
+        mLabelLayout.setMaxKeyLines(MAX_KEY_LINES);
+        initPaint();
+        initFontMetrics();
+    }
+
+    /**
+     * 读取样式的全部属性
+     */
+    private void readStyle(PolygonStyle style) {
+        mStyle = style;
+        mEdgeWidth = style.getEdgeWidth();
+        mCoverEdgeWidth = style.getCoverEdgeWidth();
+        mPolygonRate = style.getPolygonRate();
+        mMaxValue = style.getMaxValue();
+        mKeyTextSize = style.getKeyTextSize();
+        mValueTextSize = style.getValueTextSize();
+        mKeyTextColor = style.getKeyTextColor();
+        mValueTextColor = style.getValueTextColor();
+        mMaxKeyTextSize = style.getMaxKeyTextSize();
+        mMaxValueTextSize = style.getMaxValueTextSize();
+        mMaxKeyTextColor = style.getMaxKeyTextColor();
+        mMaxValueTextColor = style.getMaxValueTextColor();
+        mTextGraphMargin = style.getTextGraphMargin();
+        mEdgeColor = style.getEdgeColor();
+        mCoverEdgeColor = style.getCoverEdgeColor();
+        mCoverStartColor = style.getCoverStartColor();
+        mCoverEndColor = style.getCoverEndColor();
+        mCoverAlpha = style.getCoverAlpha();
+        mLevelOfDetailEnabled = style.isLevelOfDetailEnabled();
+        mMinSpokeSpacing = style.getMinSpokeSpacing();
+        mRenderMode = style.getRenderMode();
+    }
+
+    /**
+     * 整体替换样式,之前单独修改过的属性会被覆盖
+     * FontMetrics由 {@link #applyChanges(int)} 重新获取
+     */
+    public void setStyle(PolygonStyle style) {
+        readStyle(style);
+        initPaint();
+        for (int i = 0, size = mSeries.size(); i < size; i++) {
+            mSeries.get(i).mEdgePaint.setStrokeWidth(mCoverEdgeWidth);
+        }
+        applyChanges(DIRTY_ALL);
+    }
+
+    /**
+     * 初始化paint
+     */
+    private void initPaint() {
+        mCoverEdgePaint.setColor(mCoverEdgeColor);
+        mEdgePaint.setColor(mEdgeColor);
+
+        mCoverPaint.setAlpha(mCoverAlpha);
+
+        mEdgePaint.setStyle(Paint.Style.STROKE);
+        mCoverEdgePaint.setStyle(Paint.Style.STROKE);
+
+        mEdgePaint.setStrokeWidth(mEdgeWidth);
+        mCoverEdgePaint.setStrokeWidth(mCoverEdgeWidth);
+
+        mEdgePaint.setStrokeJoin(Paint.Join.ROUND);
+        mCoverEdgePaint.setStrokeJoin(Paint.Join.ROUND);
+
+        initHighlightPaint();
+
+        initTextPaint(mKeyPaint, mKeyTextSize, mKeyTextColor);
+        initTextPaint(mValuePaint, mValueTextSize, mValueTextColor);
+        initTextPaint(mMaxKeyPaint, mMaxKeyTextSize, mMaxKeyTextColor);
+        initTextPaint(mMaxValuePaint, mMaxValueTextSize, mMaxValueTextColor);
+        initTextPaint(mRingLabelPaint, mValueTextSize, mValueTextColor);
+        initRingLabelPaint();
+    }
+
+    /**
+     * 从样式的缓存中获取FontMetrics
+     */
+    private void initFontMetrics() {
+        mStyle.getFontMetrics(mKeyTextSize, mKeyFontMetrics);
+        mStyle.getFontMetrics(mValueTextSize, mValueFontMetrics);
+        mStyle.getFontMetrics(mMaxKeyTextSize, mMaxKeyFontMetrics);
+        mStyle.getFontMetrics(mMaxValueTextSize, mMaxValueFontMetrics);
+
+        //文字大小变化后缓存的宽度不再有效
+        mLabelLayout.setLineMetrics(LabelLayout.STYLE_KEY, mKeyFontMetrics.top, mKeyFontMetrics.bottom);
+        mLabelLayout.setLineMetrics(LabelLayout.STYLE_VALUE, mValueFontMetrics.top, mValueFontMetrics.bottom);
+        mLabelLayout.setLineMetrics(LabelLayout.STYLE_MAX_KEY, mMaxKeyFontMetrics.top, mMaxKeyFontMetrics.bottom);
+        mLabelLayout.setLineMetrics(LabelLayout.STYLE_MAX_VALUE, mMaxValueFontMetrics.top, mMaxValueFontMetrics.bottom);
+        mLabelLayout.invalidateWidths();
+    }
+
+    /**
+     * 刻度文字比数值文字小,从外圈的分割线右侧开始绘制
+     */
+    private void initRingLabelPaint() {
+        mRingLabelPaint.setTextSize(mValueTextSize * RING_LABEL_TEXT_SCALE);
+        mRingLabelPaint.setTextAlign(Paint.Align.LEFT);
+    }
+
+    private void initTextPaint(Paint paint, int textSize, int textColor) {
+        paint.setTypeface(Typeface.DEFAULT_BOLD);
+        paint.setTextAlign(Paint.Align.CENTER);
+        paint.setTextSize(textSize);
+        paint.setColor(textColor);
+    }
+
+    /**
+     * 设置绘制区域的大小,多边形位于区域中心
+     * 大小不变时不会重新计算,预先计算好的绘制器被View换用后不会再计算一次
+     */
+    public void setSize(int width, int height) {
+        if (width == mWidth && height == mHeight && width > 0 && height > 0) {
+            return;
+        }
+        mWidth = width;
+        mHeight = height;
+        //小标题的最大宽度随尺寸变化
+        applyChanges(DIRTY_LABELS);
+    }
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public int getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * 绑定数据集
+     *
+     * @param data String,Float键值对  size>=3
+     * @return 是否绑定成功
+     */
+    public boolean setData(Map<String, Float> data) {
+        return setData(data, false);
+    }
+
+    /**
+     * @param transition 边数不变时是否从当前形状开始过渡,过渡由 {@link #applyTransition} 推进
+     */
+    boolean setData(Map<String, Float> data, boolean transition) {
+        if (data != null && data.size() >= 3) {
+            mData.set(data);
+            onDataBound(transition);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 以数组绑定数据集,避免装箱及构造Map
+     *
+     * @param keys   小标题  length>=3
+     * @param values 数据,长度与keys一致
+     * @return 是否绑定成功
+     */
+    public boolean setData(String[] keys, float[] values) {
+        return setData(keys, values, false);
+    }
+
+    boolean setData(String[] keys, float[] values, boolean transition) {
+        if (keys != null && values != null && keys.length >= 3 && keys.length == values.length) {
+            mData.set(keys, values);
+            onDataBound(transition);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 同时设置绘制区域的大小及数据集,文字只测量一次,点集只计算一次
+     * 用于恢复保存的状态,数据不合法时只设置大小
+     */
+    boolean setSizeAndData(int width, int height, String[] keys, float[] values) {
+        if (keys == null || values == null || keys.length < 3 || keys.length != values.length) {
+            setSize(width, height);
+            return false;
+        }
+        mWidth = width;
+        mHeight = height;
+        mData.set(keys, values);
+        onDataBound(false);
+        return true;
+    }
+
+    /**
+     * 小标题不变,更新全部数据
+     *
+     * @param values 数据,长度与已绑定的数据集一致
+     * @return 是否更新成功
+     */
+    public boolean setValues(float[] values) {
+        return setValues(values, false, null);
+    }
+
+    /**
+     * @param dirty 不为null时并入文字发生变化的区域,半径发生变化时并入整个绘制区域
+     */
+    boolean setValues(float[] values, boolean transition, RectF dirty) {
+        if (values == null || mEdgeNum == 0 || values.length != mEdgeNum) {
+            return false;
+        }
+        int oldMaxValueIndex = mData.getMaxValueIndex();
+        mData.setValues(values);
+        if (mData.getMaxValueIndex() != oldMaxValueIndex) {
+            //最大值的文字样式不同,重新排版所有文字
+            mLabelCache.update(values, mEdgeNum);
+            relayoutLabels(dirty);
+        } else {
+            for (int i = 0; i < mEdgeNum; i++) {
+                if (mLabelCache.update(i, values[i])) {
+                    updateLabel(i, dirty);
+                }
+            }
+        }
+        pushScaleSample();
+        float scale = mCoverScale;
+        updateCoverRates(transition);
+        if (scale != mCoverScale) {
+            unionRingLabels(dirty);
+        }
+        return true;
+    }
+
+    /**
+     * 每次更新的最大值作为滑动窗口的一个样本
+     */
+    private void pushScaleSample() {
+        if (mScaleWindow != null) {
+            mScaleWindow.push(mData.getMaxValue());
+        }
+    }
+
+    /**
+     * 满值变化后刻度文字需要重绘
+     */
+    private void unionRingLabels(RectF dirty) {
+        if (dirty != null && mRingLabelsEnabled && mRadius > 0) {
+            //刻度文字沿第一条坐标轴排列在中心上方
+            dirty.union(mCenterPoint.x, mCenterPoint.y - mRadius - mRingLabelPaint.getTextSize() * 2,
+                    mCenterPoint.x + mRadius, mCenterPoint.y);
+        }
+    }
+
+    /**
+     * 以满值和比例计算各圈对应的数值,只在两者变化时重新格式化
+     */
+    private void initRingLabels() {
+        if (!mRingLabelsEnabled || (mRingLabelScale == mCoverScale && mRingLabelRate == mPolygonRate)) {
+            return;
+        }
+        mRingLabelScale = mCoverScale;
+        mRingLabelRate = mPolygonRate;
+        ValueFormatter formatter = mLabelCache.getFormatter();
+        for (int i = 0; i < RING_LABEL_COUNT; i++) {
+            //各背景圈依次为半径的1/5到4/5,最后为外圈
+            float fraction = (i + 1f) / RING_LABEL_COUNT;
+            float value = mPolygonRate > 0 ? fraction / mPolygonRate * mCoverScale : 0;
+            mRingLabels[i] = formatter.format(value);
+        }
+    }
+
+    /**
+     * 更新单个数据,只重新计算该顶点及其文字
+     * 以数据集最大值为满值且最大值发生变化时,所有顶点都需要重新计算
+     *
+     * @param axis  数据的下标
+     * @param value 新的数据
+     * @return 是否更新成功
+     */
+    public boolean setValue(int axis, float value) {
+        return setValue(axis, value, false, null);
+    }
+
+    /**
+     * @param dirty 不为null时并入文字发生变化的区域,半径发生变化时并入整个绘制区域
+     */
+    boolean setValue(int axis, float value, boolean transition, RectF dirty) {
+        if (axis < 0 || axis >= mEdgeNum) {
+            return false;
+        }
+        boolean maxChanged = mData.setValue(axis, value);
+        boolean labelChanged = mLabelCache.update(axis, value);
+        pushScaleSample();
+        if (maxChanged) {
+            relayoutLabels(dirty);
+        } else if (labelChanged) {
+            updateLabel(axis, dirty);
+        }
+
+        if (getCoverScale() != mCoverScale) {
+            updateCoverRates(transition);
+            unionRingLabels(dirty);
+        } else {
+            mTargetRates[axis] = computeCoverRate(value, mCoverScale);
+            if (transition || mTransitionRunning) {
+                //有过渡正在进行时从当前形状重新开始过渡,避免其他顶点停在中间
+                startCoverTransition(true);
+                if (!transition && mTransitionRunning) {
+                    //不要求过渡时只有该顶点直接跳到目标,其他顶点继续过渡
+                    jumpCoverPoint(axis);
+                }
+            } else {
+                jumpCoverPoint(axis);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单个顶点直接跳到目标比例,只重新计算该顶点及相连的路径
+     */
+    private void jumpCoverPoint(int axis) {
+        mCoverTransition.jumpTo(axis, mTargetRates[axis]);
+        if (mRadius > 0) {
+            mGeometry.computeValuePoint(axis, mTargetRates[axis]);
+            initPolygonPath(axis);
+        }
+    }
+
+    /**
+     * 数据集绑定后更新文字、点集及遮罩层
+     */
+    private void onDataBound(boolean transition) {
+        mEdgeNum = mData.size();
+        mLabelCache.update(mData.getValues(), mEdgeNum);
+        pushScaleSample();
+
+        //已经完成布局时,边数可能发生了变化,需要重新计算点集
+        if (mGeometry.getEdgeNum() != mEdgeNum) {
+            //叠加的数据集及选中的坐标轴与新的坐标轴不再对应
+            mSeries.clear();
+            mSelectedIndex = -1;
+            mGeometry.setEdgeNum(mEdgeNum);
+            mBackgroundGeneration++;
+        }
+        //文字变化后半径可能变化
+        applyChanges(DIRTY_LABELS);
+        updateCoverRates(transition);
+    }
+
+    /**
+     * 最大值的下标变化后重新测量所有文字并重新计算半径
+     * 半径可能变化,需要重绘整个绘制区域
+     */
+    private void relayoutLabels(RectF dirty) {
+        applyChanges(DIRTY_LABELS);
+        if (dirty != null) {
+            dirty.union(0, 0, mWidth, mHeight);
+        }
+    }
+
+    /**
+     * 只重新测量并放置一个文字块,原来的半径仍是能容纳所有文字的最大半径时半径不变,
+     * 否则重新计算半径
+     */
+    private void updateLabel(int index, RectF dirty) {
+        if (mRadius <= 0) {
+            measureLabel(index);
+            return;
+        }
+        float[] directions = mGeometry.getDirections();
+        float dx = directions[2 * index];
+        float dy = directions[2 * index + 1];
+        float innerRadius = mRadius + mTextGraphMargin;
+        float oldFit = mLabelLayout.fitRadius(index, dx, dy, mCenterPoint.x, mCenterPoint.y, mWidth, mHeight);
+        if (dirty != null) {
+            unionLabelBounds(index, dirty);
+        }
+
+        measureLabel(index);
+        float newFit = mLabelLayout.fitRadius(index, dx, dy, mCenterPoint.x, mCenterPoint.y, mWidth, mHeight);
+        //文字变宽后超出了绘制区域,或原来限制半径的正是该文字块且它变窄了
+        if (newFit < innerRadius || (oldFit < innerRadius + 1 && newFit > oldFit)) {
+            relayoutLabels(dirty);
+            return;
+        }
+
+        mLabelLayout.place(index, dx, dy, mCenterPoint.x, mCenterPoint.y, innerRadius);
+        if (dirty != null) {
+            unionLabelBounds(index, dirty);
+        }
+    }
+
+    /**
+     * 测量所有文字,小标题的最大宽度由绘制区域的短边决定
+     */
+    private void measureLabels() {
+        mLabelLayout.setMaxKeyWidth(Math.min(mWidth, mHeight) * MAX_KEY_WIDTH_RATIO);
+        mLabelLayout.setCount(mEdgeNum);
+        for (int i = 0; i < mEdgeNum; i++) {
+            measureLabel(i);
+        }
+    }
+
+    private void measureLabel(int index) {
+        mLabelLayout.measure(index, mData.getKey(index), mLabelCache.get(index),
+                index == mData.getMaxValueIndex());
+    }
+
+
+    /**
+     * 根据数据计算各顶点的目标比例,并过渡或直接跳到目标形状
+     */
+    private void updateCoverRates(boolean transition) {
+        if (mTargetRates == null || mTargetRates.length < mEdgeNum) {
+            mTargetRates = new float[mEdgeNum];
+        }
+
+        float scale = getCoverScale();
+        if (scale != mCoverScale) {
+            mCoverScale = scale;
+            initSeriesPaths();
+        }
+        initRingLabels();
+        float[] values = mData.getValues();
+        for (int i = 0; i < mEdgeNum; i++) {
+            mTargetRates[i] = computeCoverRate(values[i], mCoverScale);
+        }
+        startCoverTransition(transition);
+    }
+
+    private void startCoverTransition(boolean transition) {
+        if (transition && mCoverTransition.start(mTargetRates, mEdgeNum)) {
+            mTransitionRunning = true;
+        } else {
+            mTransitionRunning = false;
+            mCoverTransition.jumpTo(mTargetRates, mEdgeNum);
+            initPolygonData();
+        }
+    }
+
+    /**
+     * 推进正在进行的过渡
+     *
+     * @param fraction 经过插值器处理后的进度,可能超出0~1
+     */
+    void applyTransition(float fraction) {
+        mCoverTransition.apply(fraction);
+        initPolygonData();
+    }
+
+    /**
+     * 结束过渡,遮罩层停在目标形状
+     */
+    void finishTransition() {
+        if (!mTransitionRunning) {
+            return;
+        }
+        mTransitionRunning = false;
+        mCoverTransition.finish();
+        initPolygonData();
+    }
+
+    boolean isTransitionRunning() {
+        return mTransitionRunning;
+    }
+
+    /**
+     * 当前的满值,未设置时为所有数据集中的最大值
+     */
+    private float getCoverScale() {
+        if (mMaxValue > 0) {
+            return mMaxValue;
+        }
+        float scale = mData.getMaxValue();
+        if (mScaleWindow != null) {
+            scale = Math.max(scale, mScaleWindow.getMax());
+        }
+        for (int i = 0, size = mSeries.size(); i < size; i++) {
+            scale = Math.max(scale, mSeries.get(i).getMaxValue());
+        }
+        return scale;
+    }
+
+    private float computeCoverRate(float value, float scale) {
+        float rate = scale > 0 ? value / scale : 0;
+        return mPolygonRate * Math.max(0, Math.min(1, rate));
+    }
+
+    /**
+     * 将数据集遮罩层及其边界线的区域并入dirty
+     */
+    void unionCoverBounds(RectF dirty) {
+        if (mEdgeNum == 0) {
+            return;
+        }
+        //边界线宽的一半,加上抗锯齿的一个像素
+        float outset = mCoverEdgeWidth / 2f + 1;
+        dirty.union(mCoverBounds.left - outset, mCoverBounds.top - outset,
+                mCoverBounds.right + outset, mCoverBounds.bottom + outset);
+    }
+
+    /**
+     * 找出点所在扇区的坐标轴,与边数无关
+     * 点需落在外圈内、该坐标轴的文字上或其顶点附近
+     *
+     * @param slop 顶点附近的判定距离
+     * @return 坐标轴的下标,没有命中时为-1
+     */
+    public int findAxisAt(float x, float y, float slop) {
+        if (!canDraw()) {
+            return -1;
+        }
+        int index = mGeometry.findAxis(x, y);
+        if (index < 0) {
+            return -1;
+        }
+        if (mGeometry.distanceSquareToCenter(x, y) <= (float) mRadius * mRadius
+                || isNearVertex(index, x, y, slop) || isInLabel(index, x, y)) {
+            return index;
+        }
+        return -1;
+    }
+
+    /**
+     * 点是否在某个数据顶点附近
+     */
+    public boolean isNearVertex(int index, float x, float y, float slop) {
+        return index >= 0 && index < mEdgeNum && mGeometry.distanceSquareToValuePoint(index, x, y) <= slop * slop;
+    }
+
+    /**
+     * 点是否在某个坐标轴的文字上
+     */
+    public boolean isInLabel(int index, float x, float y) {
+        if (index < 0 || index >= mEdgeNum || mRadius <= 0) {
+            return false;
+        }
+        getLabelBounds(index, mLabelRect);
+        return mLabelRect.contains(x, y);
+    }
+
+    public int getSelectedIndex() {
+        return mSelectedIndex;
+    }
+
+    /**
+     * 选中一个坐标轴并高亮
+     *
+     * @param index 坐标轴的下标,-1时取消选中
+     */
+    public void setSelectedIndex(int index) {
+        setSelectedIndex(index, null);
+    }
+
+    /**
+     * @param dirty 不为null时并入选中前后高亮的区域
+     */
+    void setSelectedIndex(int index, RectF dirty) {
+        if (index < -1 || index >= mEdgeNum) {
+            index = -1;
+        }
+        if (index == mSelectedIndex) {
+            return;
+        }
+        if (dirty != null) {
+            unionHighlightBounds(dirty);
+        }
+        mSelectedIndex = index;
+        if (mRadius > 0) {
+            initHighlightPath();
+        }
+        if (dirty != null) {
+            unionHighlightBounds(dirty);
+        }
+    }
+
+    /**
+     * 高亮的分割线、遮罩层区域及文字
+     */
+    void unionHighlightBounds(RectF dirty) {
+        if (mSelectedIndex < 0 || mRadius <= 0) {
+            return;
+        }
+        float outset = mCoverEdgeWidth / 2f + 1;
+        dirty.union(mHighlightBounds.left - outset, mHighlightBounds.top - outset,
+                mHighlightBounds.right + outset, mHighlightBounds.bottom + outset);
+        unionLabelBounds(mSelectedIndex, dirty);
+    }
+
+    /**
+     * 将某个数据的小标题及数值文字的区域并入dirty
+     */
+    void unionLabelBounds(int index, RectF dirty) {
+        if (index < 0 || index >= mEdgeNum || mRadius <= 0) {
+            return;
+        }
+        getLabelBounds(index, mLabelRect);
+        dirty.union(mLabelRect);
+    }
+
+    /**
+     * 将除最大值外所有数据的文字区域并入dirty
+     */
+    void unionNormalLabelBounds(RectF dirty) {
+        for (int i = 0; i < mEdgeNum; i++) {
+            if (i != mData.getMaxValueIndex()) {
+                unionLabelBounds(i, dirty);
+            }
+        }
+    }
+
+    /**
+     * 某个数据的小标题及数值文字的区域,由文字排版的结果得到,无需重新测量
+     */
+    private void getLabelBounds(int index, RectF out) {
+        //加上抗锯齿的一个像素
+        out.set(mLabelLayout.getLeft(index) - 1, mLabelLayout.getTop(index) - 1,
+                mLabelLayout.getRight(index) + 1, mLabelLayout.getBottom(index) + 1);
+    }
+
+    /**
+     * 计算细节分级:分割线的绘制间隔及各文字是否显示
+     * 只在布局、文字大小、数据集或最大值的下标变化时计算
+     */
+    private void initLevelOfDetail() {
+        mSpokeStep = 1;
+        if (!mLevelOfDetailEnabled || mEdgeNum == 0 || mRadius <= 0) {
+            initSpokeLines();
+            return;
+        }
+
+        //相邻分割线在外圈上的间距过小时隔几条绘制一条
+        float spacing = (float) (2 * Math.PI * mRadius / mEdgeNum);
+        if (spacing < mMinSpokeSpacing) {
+            mSpokeStep = (int) Math.ceil(mMinSpokeSpacing / spacing);
+        }
+        initSpokeLines();
+
+        if (mLabelVisible.length < mEdgeNum) {
+            mLabelVisible = new boolean[mEdgeNum];
+            mLabelBounds = new float[mEdgeNum * 4];
+        }
+        for (int i = 0; i < mEdgeNum; i++) {
+            getLabelBounds(i, mLabelRect);
+            mLabelBounds[4 * i] = mLabelRect.left;
+            mLabelBounds[4 * i + 1] = mLabelRect.top;
+            mLabelBounds[4 * i + 2] = mLabelRect.right;
+            mLabelBounds[4 * i + 3] = mLabelRect.bottom;
+        }
+        //最大值的文字总是显示
+        LabelCuller.cull(mLabelBounds, mEdgeNum, mData.getMaxValueIndex(), mLabelVisible);
+    }
+
+    /**
+     * 计算顶点数组绘制方式下分割线的端点
+     */
+    private void initSpokeLines() {
+        if (mRenderMode != RENDER_MODE_VERTICES) {
+            return;
+        }
+        if (mSpokeLines.length < mEdgeNum * 4) {
+            mSpokeLines = new float[mEdgeNum * 4];
+        }
+        mSpokeLineCount = mGeometry.fillSpokeLines(mSpokeLines, mSpokeStep);
+    }
+
+    /**
+     * 计算顶点数组绘制方式下遮罩层的三角扇网格
+     */
+    private void initCoverMesh() {
+        if (mRenderMode != RENDER_MODE_VERTICES || mSmoothCoverEnabled || mEdgeNum == 0 || mCoverTransition.size() != mEdgeNum) {
+            return;
+        }
+        //与LinearGradient的两个端点一致
+        int offset = (int) (Math.sin(0.25 * Math.PI) * mRadius);
+        mCoverMesh.build(mGeometry.getValuePoints(), mEdgeNum, mCenterPoint.x, mCenterPoint.y,
+                mCenterPoint.x + offset, mCenterPoint.y - offset,
+                mCenterPoint.x - offset, mCenterPoint.y + offset,
+                mCoverStartColor, mCoverEndColor, mCoverAlpha);
+    }
+
+    /**
+     * 计算背景的点及绘制路径
+     */
+    private void initBackgroundData() {
+        initBackgroundPoints();
+    }
+
+    /**
+     * 计算多边形的点及绘制路径
+     */
+    private void initPolygonData() {
+        if (mEdgeNum == 0 || mCoverTransition.size() != mEdgeNum) {
+            return;
+        }
+        initPolygonEdgePoints();
+        initPolygonPath();
+    }
+
+
+    /**
+     * 计算背景的点
+     */
+    private void initBackgroundPoints() {
+        mGeometry.layout(mCenterPoint.x, mCenterPoint.y, mRadius);
+    }
+
+
+    /**
+     * 计算多边形的点
+     */
+    private void initPolygonEdgePoints() {
+        mGeometry.computeValuePoints(mCoverTransition.getCurrent());
+    }
+
+
+    /**
+     * 计算多边形的绘制路径
+     */
+    private void initPolygonPath() {
+        if (mSmoothCoverEnabled) {
+            mCoverSpline.build(mGeometry.getValuePoints(), mEdgeNum);
+            initSmoothPath();
+        } else {
+            initStraightPath();
+        }
+        initCoverMesh();
+        initHighlightPath();
+    }
+
+    /**
+     * 单个顶点变化后更新绘制路径,平滑曲线只重新计算受该顶点影响的曲线段
+     */
+    private void initPolygonPath(int index) {
+        if (!mSmoothCoverEnabled || mCoverSpline.getCount() != mEdgeNum) {
+            initPolygonPath();
+            return;
+        }
+        mCoverSpline.update(mGeometry.getValuePoints(), index);
+        initSmoothPath();
+        initHighlightPath();
+    }
+
+    /**
+     * 以缓存的控制点在原路径上重新连接各曲线段,曲线位于顶点及控制点的凸包内
+     */
+    private void initSmoothPath() {
+        float[] points = mGeometry.getValuePoints();
+        float[] controls = mCoverSpline.getControls();
+
+        mValueEdgePath.rewind();
+        mValueEdgePath.moveTo(points[0], points[1]);
+        mCoverBounds.set(points[0], points[1], points[0], points[1]);
+        for (int i = 0; i < mEdgeNum; i++) {
+            int end = 2 * ((i + 1) % mEdgeNum);
+            mValueEdgePath.cubicTo(controls[4 * i], controls[4 * i + 1], controls[4 * i + 2], controls[4 * i + 3],
+                    points[end], points[end + 1]);
+            mCoverBounds.union(controls[4 * i], controls[4 * i + 1]);
+            mCoverBounds.union(controls[4 * i + 2], controls[4 * i + 3]);
+            mCoverBounds.union(points[end], points[end + 1]);
+        }
+        mValueEdgePath.close();
+    }
+
+    private void initStraightPath() {
+        float[] points = mGeometry.getValuePoints();
+
+        mValueEdgePath.rewind();
+        mValueEdgePath.moveTo(points[0], points[1]);
+        mCoverBounds.set(points[0], points[1], points[0], points[1]);
+        float lastX = points[0];
+        float lastY = points[1];
+        for (int i = 1; i < mEdgeNum; i++) {
+            float x = points[2 * i];
+            float y = points[2 * i + 1];
+            //开启细节分级时跳过与上一个顶点相距不到半个像素的顶点
+            if (mLevelOfDetailEnabled) {
+                float dx = x - lastX;
+                float dy = y - lastY;
+                if (dx * dx + dy * dy < SIMPLIFY_DISTANCE_SQUARE) {
+                    continue;
+                }
+            }
+            mValueEdgePath.lineTo(x, y);
+            mCoverBounds.union(x, y);
+            lastX = x;
+            lastY = y;
+        }
+
+        mValueEdgePath.close();
+    }
+
+    /**
+     * 高亮以遮罩层边界的颜色绘制,文字大小与各自的文字样式一致
+     */
+    private void initHighlightPaint() {
+        mHighlightFillPaint.setColor(mCoverEdgeColor);
+        mHighlightFillPaint.setAlpha(HIGHLIGHT_ALPHA);
+        mHighlightFillPaint.setStyle(Paint.Style.FILL);
+
+        mHighlightLinePaint.setColor(mCoverEdgeColor);
+        mHighlightLinePaint.setStyle(Paint.Style.STROKE);
+        mHighlightLinePaint.setStrokeWidth(mCoverEdgeWidth);
+        mHighlightLinePaint.setStrokeJoin(Paint.Join.ROUND);
+
+        initTextPaint(mHighlightKeyPaint, mKeyTextSize, mCoverEdgeColor);
+        initTextPaint(mHighlightValuePaint, mValueTextSize, mCoverEdgeColor);
+        initTextPaint(mHighlightMaxKeyPaint, mMaxKeyTextSize, mCoverEdgeColor);
+        initTextPaint(mHighlightMaxValuePaint, mMaxValueTextSize, mCoverEdgeColor);
+    }
+
+    /**
+     * 计算选中坐标轴与左右相邻顶点围成的区域
+     */
+    private void initHighlightPath() {
+        mHighlightPath.rewind();
+        if (mSelectedIndex < 0) {
+            mHighlightBounds.setEmpty();
+            return;
+        }
+        float[] points = mGeometry.getValuePoints();
+        int previous = (mSelectedIndex + mEdgeNum - 1) % mEdgeNum;
+        int next = (mSelectedIndex + 1) % mEdgeNum;
+        float centerX = mCenterPoint.x;
+        float centerY = mCenterPoint.y;
+
+        //取到相邻顶点的中点,只覆盖属于该坐标轴的部分
+        float startX = (points[2 * previous] + points[2 * mSelectedIndex]) / 2;
+        float startY = (points[2 * previous + 1] + points[2 * mSelectedIndex + 1]) / 2;
+        float endX = (points[2 * next] + points[2 * mSelectedIndex]) / 2;
+        float endY = (points[2 * next + 1] + points[2 * mSelectedIndex + 1]) / 2;
+        mHighlightPath.moveTo(centerX, centerY);
+        mHighlightPath.lineTo(startX, startY);
+        mHighlightPath.lineTo(points[2 * mSelectedIndex], points[2 * mSelectedIndex + 1]);
+        mHighlightPath.lineTo(endX, endY);
+        mHighlightPath.close();
+
+        //包含到外圈的分割线
+        float[] outsidePoints = mGeometry.getOutsidePoints();
+        mHighlightBounds.set(centerX, centerY, centerX, centerY);
+        mHighlightBounds.union(startX, startY);
+        mHighlightBounds.union(endX, endY);
+        mHighlightBounds.union(points[2 * mSelectedIndex], points[2 * mSelectedIndex + 1]);
+        mHighlightBounds.union(outsidePoints[2 * mSelectedIndex], outsidePoints[2 * mSelectedIndex + 1]);
+    }
+
+    /**
+     * 重新计算受影响的部分,每部分最多计算一次
+     *
+     * @param changes DIRTY_ 开头的标记的组合
+     */
+    void applyChanges(int changes) {
+        if ((changes & DIRTY_FONT_METRICS) != 0) {
+            initFontMetrics();
+            changes |= DIRTY_LABELS;
+        }
+        if ((changes & DIRTY_LABELS) != 0) {
+            measureLabels();
+            changes |= DIRTY_LAYOUT;
+        }
+        if ((changes & DIRTY_LAYOUT) != 0 && mWidth > 0 && mHeight > 0) {
+            changes |= initLayout();
+        }
+        if ((changes & DIRTY_PATH_EFFECT) != 0) {
+            initPathEffect();
+        }
+        if ((changes & DIRTY_SHADER) != 0) {
+            initCoverPaintShader();
+        }
+        if ((changes & DIRTY_COVER_RATES) != 0 && mEdgeNum > 0) {
+            updateCoverRates(false);
+        } else if ((changes & DIRTY_COVER_POINTS) != 0) {
+            initPolygonData();
+        }
+        if ((changes & (DIRTY_COVER_RATES | DIRTY_COVER_POINTS)) != 0) {
+            initSeriesPaths();
+        }
+        if ((changes & (DIRTY_FONT_METRICS | DIRTY_LAYOUT | DIRTY_LABELS)) != 0) {
+            initLevelOfDetail();
+        }
+        if ((changes & DIRTY_BACKGROUND) != 0) {
+            mBackgroundGeneration++;
+        }
+    }
+
+    /**
+     * 计算半径及文字位置
+     *
+     * @return 因半径或中心点变化而需要重新计算的部分
+     */
+    private int initLayout() {
+        float centerX = mWidth / 2;
+        float centerY = mHeight / 2;
+
+        int radius;
+        if (mEdgeNum > 0) {
+            //所有文字块都不超出绘制区域时的最大半径,外圈本身也不能超出
+            float textRadius = mLabelLayout.fitRadius(mGeometry.getDirections(), centerX, centerY, mWidth, mHeight);
+            radius = (int) Math.max(0, Math.min(textRadius - mTextGraphMargin,
+                    Math.min(centerX, centerY) - mEdgeWidth / 2f));
+        } else {
+            //没有数据时按文字高度估算半径
+            radius = (int) (Math.min(mWidth, mHeight) / 2 - (mMaxValueFontMetrics.bottom - mMaxValueFontMetrics.top) * 1.5 -
+                    (mMaxKeyFontMetrics.bottom - mMaxKeyFontMetrics.top) * 1.5 - mTextGraphMargin);
+        }
+
+        int changes = 0;
+        //半径和中心点不变时无需重新创建PathEffect和Shader
+        if (radius != mRadius || centerX != mCenterPoint.x || centerY != mCenterPoint.y) {
+            mRadius = radius;
+            mCenterPoint.set(centerX, centerY);
+
+            initBackgroundRadius();
+            changes = DIRTY_PATH_EFFECT | DIRTY_SHADER | DIRTY_COVER_POINTS | DIRTY_BACKGROUND;
+        }
+
+        //文字位置还与文图间距及文字大小有关
+        initBackgroundData();
+        if (mEdgeNum > 0) {
+            mLabelLayout.place(mGeometry.getDirections(), centerX, centerY, mRadius + mTextGraphMargin);
+        }
+        return changes;
+    }
+
+    /**
+     * 计算内部四个圆的半径
+     */
+    private void initBackgroundRadius() {
+        mBackgroundRadius[0] = mRadius / 5;
+        for (int i = 1; i < 4; i++) {
+            mBackgroundRadius[i] = mBackgroundRadius[0] * (i + 1);
+        }
+    }
+
+
+    /**
+     * 初始化CoverPaint的Shader
+     */
+    private void initCoverPaintShader() {
+        mCoverPaint.setShader(createCoverShader(mCoverStartColor, mCoverEndColor));
+        initCoverMesh();
+        for (int i = 0, size = mSeries.size(); i < size; i++) {
+            PolygonSeries series = mSeries.get(i);
+            series.setShader(createCoverShader(series.getStartColor(), series.getEndColor()));
+        }
+    }
+
+    /**
+     * 获取从右上角到左下角的渐变
+     */
+    private Shader createCoverShader(int startColor, int endColor) {
+        //尺寸及颜色相同的实例共享同一个Shader
+        return mStyle.getCoverShader(mCenterPoint.x, mCenterPoint.y, mRadius, startColor, endColor);
+    }
+
+    /**
+     * 计算所有叠加数据集的绘制路径
+     * 按坐标轴遍历一次,各数据集共享同一组顶点方向
+     */
+    private void initSeriesPaths() {
+        int seriesCount = mSeries.size();
+        if (seriesCount == 0 || mEdgeNum == 0) {
+            return;
+        }
+        for (int j = 0; j < seriesCount; j++) {
+            mSeries.get(j).mPath.rewind();
+        }
+
+        float[] directions = mGeometry.getDirections();
+        float length = mRadius * mPolygonRate;
+        for (int i = 0; i < mEdgeNum; i++) {
+            float dx = directions[2 * i] * length;
+            float dy = directions[2 * i + 1] * length;
+            for (int j = 0; j < seriesCount; j++) {
+                PolygonSeries series = mSeries.get(j);
+                float rate = mCoverScale > 0 ? series.getValues()[i] / mCoverScale : 0;
+                rate = Math.max(0, Math.min(1, rate));
+                float x = mCenterPoint.x + dx * rate;
+                float y = mCenterPoint.y + dy * rate;
+                if (i == 0) {
+                    series.mPath.moveTo(x, y);
+                } else {
+                    series.mPath.lineTo(x, y);
+                }
+            }
+        }
+
+        for (int j = 0; j < seriesCount; j++) {
+            mSeries.get(j).mPath.close();
+        }
+    }
+
+    /**
+     * 初始化PathEffect
+     */
+    private void initPathEffect() {
+        //虚线的长度由最内圈的半径决定
+        mPathEffect = mStyle.getDashEffect(mBackgroundRadius[0]);
+    }
+
+    /**
+     * 绘制整个多边形,未绑定数据或未设置尺寸时不绘制
+     */
+    public void draw(Canvas canvas) {
+        if (!canDraw()) {
+            return;
+        }
+        //自底向上依次绘制
+        drawBackground(canvas);
+        drawForeground(canvas);
+    }
+
+    /**
+     * 绘制背景层:背景圆、虚线圈及分割线,只与尺寸和边界样式有关,可以缓存
+     */
+    public void drawBackground(Canvas canvas) {
+        if (!canDraw()) {
+            return;
+        }
+        long start = beginPhase(PolygonMetrics.PHASE_DRAW_BACKGROUND_CIRCLE);
+        drawBackgroundCircle(canvas);
+        endPhase(PolygonMetrics.PHASE_DRAW_BACKGROUND_CIRCLE, start);
+
+        start = beginPhase(PolygonMetrics.PHASE_DRAW_DIVIDE_LINES);
+        drawDivideLines(canvas);
+        endPhase(PolygonMetrics.PHASE_DRAW_DIVIDE_LINES, start);
+    }
+
+    /**
+     * 绘制背景层之上的部分:叠加的数据集、遮罩层及文字
+     */
+    public void drawForeground(Canvas canvas) {
+        if (!canDraw()) {
+            return;
+        }
+        long start = beginPhase(PolygonMetrics.PHASE_DRAW_SERIES);
+        drawSeries(canvas);
+        endPhase(PolygonMetrics.PHASE_DRAW_SERIES, start);
+
+        start = beginPhase(PolygonMetrics.PHASE_DRAW_COVER);
+        drawCover(canvas);
+        endPhase(PolygonMetrics.PHASE_DRAW_COVER, start);
+
+        start = beginPhase(PolygonMetrics.PHASE_DRAW_COVER_EDGE);
+        drawCoverEdge(canvas);
+        endPhase(PolygonMetrics.PHASE_DRAW_COVER_EDGE, start);
+
+        drawHighlight(canvas);
+
+        start = beginPhase(PolygonMetrics.PHASE_DRAW_TEXT);
+        drawText(canvas);
+        endPhase(PolygonMetrics.PHASE_DRAW_TEXT, start);
+    }
+
+    private boolean canDraw() {
+        return mEdgeNum > 0 && mRadius > 0;
+    }
+
+    /**
+     * 未设置统计时只有一次判空
+     */
+    long beginPhase(int phase) {
+        return mMetrics == null ? 0 : mMetrics.begin(phase);
+    }
+
+    void endPhase(int phase, long start) {
+        if (mMetrics != null) {
+            mMetrics.end(phase, start);
+        }
+    }
+
+
+    /**
+     * 绘制小标题及数值文字,只按排版好的位置绘制
+     */
+    private void drawText(Canvas canvas) {
+        if (mRingLabelsEnabled) {
+            drawRingLabels(canvas);
+        }
+        int maxValueIndex = mData.getMaxValueIndex();
+
+        //绘制除去最大值的小标题及数值
+        for (int i = 0; i < mEdgeNum; i++) {
+            if (i == maxValueIndex || (mLevelOfDetailEnabled && !mLabelVisible[i])) {
+                continue;
+            }
+            drawLabel(canvas, i, mKeyPaint, mValuePaint);
+        }
+
+        //绘制最大值的小标题及数值
+        drawLabel(canvas, maxValueIndex, mMaxKeyPaint, mMaxValuePaint);
+
+        //选中的文字以高亮颜色覆盖绘制,大小不变,排版依然有效
+        if (mSelectedIndex >= 0) {
+            if (mSelectedIndex == maxValueIndex) {
+                drawLabel(canvas, mSelectedIndex, mHighlightMaxKeyPaint, mHighlightMaxValuePaint);
+            } else {
+                drawLabel(canvas, mSelectedIndex, mHighlightKeyPaint, mHighlightValuePaint);
+            }
+        }
+    }
+
+    /**
+     * 在第一条坐标轴右侧标注各圈对应的数值
+     */
+    private void drawRingLabels(Canvas canvas) {
+        float x = mCenterPoint.x + mRingLabelPaint.getTextSize() / 3;
+        for (int i = 0; i < RING_LABEL_COUNT; i++) {
+            int radius = i < mBackgroundRadius.length ? mBackgroundRadius[i] : mRadius;
+            canvas.drawText(mRingLabels[i], x, mCenterPoint.y - radius - mRingLabelPaint.getTextSize() / 3,
+                    mRingLabelPaint);
+        }
+    }
+
+    /**
+     * 绘制选中坐标轴的分割线及其附近的遮罩层
+     */
+    private void drawHighlight(Canvas canvas) {
+        if (mSelectedIndex < 0) {
+            return;
+        }
+        canvas.drawPath(mHighlightPath, mHighlightFillPaint);
+
+        float[] points = mGeometry.getOutsidePoints();
+        canvas.drawLine(mCenterPoint.x, mCenterPoint.y, points[2 * mSelectedIndex],
+                points[2 * mSelectedIndex + 1], mHighlightLinePaint);
+    }
+
+    private void drawLabel(Canvas canvas, int index, Paint keyPaint, Paint valuePaint) {
+        float x = mLabelLayout.getCenterX(index);
+        float baseline = mLabelLayout.getKeyBaseline(index);
+        float lineHeight = mLabelLayout.getKeyLineHeight(index);
+        for (int j = 0, lineCount = mLabelLayout.getLineCount(index); j < lineCount; j++) {
+            canvas.drawText(mLabelLayout.getLine(index, j), x, baseline + j * lineHeight, keyPaint);
+        }
+        canvas.drawText(mLabelCache.get(index), x, mLabelLayout.getValueBaseline(index), valuePaint);
+    }
+
+    /**
+     * 绘制背景圆
+     */
+    private void drawBackgroundCircle(Canvas canvas) {
+        mEdgePaint.setPathEffect(null);
+        canvas.drawCircle(mCenterPoint.x, mCenterPoint.y, mRadius, mEdgePaint);
+        mEdgePaint.setPathEffect(mPathEffect);
+
+        for (int mBackgroundRadiu : mBackgroundRadius) {
+            canvas.drawCircle(mCenterPoint.x, mCenterPoint.y, mBackgroundRadiu, mEdgePaint);
+        }
+    }
+
+    /**
+     * 绘制内部分割线
+     */
+    private void drawDivideLines(Canvas canvas) {
+        mEdgePaint.setPathEffect(null);
+        if (mRenderMode == RENDER_MODE_VERTICES) {
+            canvas.drawLines(mSpokeLines, 0, mSpokeLineCount, mEdgePaint);
+            return;
+        }
+        float[] points = mGeometry.getOutsidePoints();
+        for (int i = 0; i < mEdgeNum; i += mSpokeStep) {
+            canvas.drawLine(mCenterPoint.x, mCenterPoint.y, points[2 * i], points[2 * i + 1], mEdgePaint);
+        }
+    }
+
+
+    /**
+     * 绘制叠加的数据集,位于主数据集之下
+     */
+    private void drawSeries(Canvas canvas) {
+        for (int i = 0, size = mSeries.size(); i < size; i++) {
+            PolygonSeries series = mSeries.get(i);
+            canvas.drawPath(series.mPath, series.mCoverPaint);
+            canvas.drawPath(series.mPath, series.mEdgePaint);
+        }
+    }
+
+    /**
+     * 绘制数据集遮罩层
+     */
+    private void drawCover(Canvas canvas) {
+        if (mRenderMode == RENDER_MODE_VERTICES && !mSmoothCoverEnabled && canDrawVertices(canvas)) {
+            canvas.drawVertices(Canvas.VertexMode.TRIANGLE_FAN, mCoverMesh.getVertexCount() * 2,
+                    mCoverMesh.getVertices(), 0, null, 0, mCoverMesh.getColors(), 0,
+                    null, 0, 0, mCoverMeshPaint);
+            return;
+        }
+        canvas.drawPath(mValueEdgePath, mCoverPaint);
+    }
+
+    /**
+     * Android Q之前硬件加速的Canvas会忽略drawVertices,此时仍以Path绘制
+     */
+    private boolean canDrawVertices(Canvas canvas) {
+        return !canvas.isHardwareAccelerated() || Build.VERSION.SDK_INT >= API_HARDWARE_VERTICES;
+    }
+
+    /**
+     * 绘制数据集遮罩层边界
+     */
+    private void drawCoverEdge(Canvas canvas) {
+        canvas.drawPath(mValueEdgePath, mCoverEdgePaint);
+    }
+
+    /**
+     * 按绘制时的顺序及点集逐个写出SVG元素,遮罩层的填充与边界合并为一个元素
+     */
+    void writeSvg(PolygonSvgWriter svg) throws IOException {
+        svg.beginDocument(mWidth, mHeight);
+        if (canDraw()) {
+            writeSvgBackground(svg);
+            writeSvgCover(svg);
+            writeSvgText(svg);
+        }
+        svg.endDocument();
+    }
+
+    private void writeSvgBackground(PolygonSvgWriter svg) throws IOException {
+        float centerX = mCenterPoint.x;
+        float centerY = mCenterPoint.y;
+        svg.circle(centerX, centerY, mRadius, mEdgeColor, mEdgeWidth, 0);
+        float dashInterval = PolygonStyle.getDashInterval(mBackgroundRadius[0]);
+        for (int radius : mBackgroundRadius) {
+            svg.circle(centerX, centerY, radius, mEdgeColor, mEdgeWidth, dashInterval);
+        }
+
+        float[] points = mGeometry.getOutsidePoints();
+        for (int i = 0; i < mEdgeNum; i += mSpokeStep) {
+            svg.line(centerX, centerY, points[2 * i], points[2 * i + 1], mEdgeColor, mEdgeWidth);
+        }
+    }
+
+    private void writeSvgCover(PolygonSvgWriter svg) throws IOException {
+        //叠加的数据集的路径已包含比例,只能从数据重新计算顶点
+        float[] directions = mGeometry.getDirections();
+        float length = mRadius * mPolygonRate;
+        for (int j = 0, size = mSeries.size(); j < size; j++) {
+            PolygonSeries series = mSeries.get(j);
+            writeSvgGradient(svg, j + 1, series.getStartColor(), series.getEndColor());
+            float[] values = series.getValues();
+            svg.beginPolygon();
+            for (int i = 0; i < mEdgeNum; i++) {
+                float rate = mCoverScale > 0 ? values[i] / mCoverScale : 0;
+                rate = Math.max(0, Math.min(1, rate));
+                svg.point(mCenterPoint.x + directions[2 * i] * length * rate,
+                        mCenterPoint.y + directions[2 * i + 1] * length * rate);
+            }
+            svg.endPolygon(j + 1, series.mCoverPaint.getAlpha(), series.getStartColor(), mCoverEdgeWidth);
+        }
+
+        writeSvgGradient(svg, 0, mCoverStartColor, mCoverEndColor);
+        float[] points = mGeometry.getValuePoints();
+        if (mSmoothCoverEnabled) {
+            float[] controls = mCoverSpline.getControls();
+            svg.beginPath(points[0], points[1]);
+            for (int i = 0; i < mEdgeNum; i++) {
+                int end = 2 * ((i + 1) % mEdgeNum);
+                svg.cubicTo(controls[4 * i], controls[4 * i + 1], controls[4 * i + 2], controls[4 * i + 3],
+                        points[end], points[end + 1]);
+            }
+            svg.endPath(0, mCoverAlpha, mCoverEdgeColor, mCoverEdgeWidth);
+        } else {
+            svg.beginPolygon();
+            for (int i = 0; i < mEdgeNum; i++) {
+                svg.point(points[2 * i], points[2 * i + 1]);
+            }
+            svg.endPolygon(0, mCoverAlpha, mCoverEdgeColor, mCoverEdgeWidth);
+        }
+
+        if (mSelectedIndex >= 0) {
+            int previous = (mSelectedIndex + mEdgeNum - 1) % mEdgeNum;
+            int next = (mSelectedIndex + 1) % mEdgeNum;
+            float x = points[2 * mSelectedIndex];
+            float y = points[2 * mSelectedIndex + 1];
+            svg.beginPolygon();
+            svg.point(mCenterPoint.x, mCenterPoint.y);
+            svg.point((points[2 * previous] + x) / 2, (points[2 * previous + 1] + y) / 2);
+            svg.point(x, y);
+            svg.point((points[2 * next] + x) / 2, (points[2 * next + 1] + y) / 2);
+            svg.endPolygon((mCoverEdgeColor & 0xffffff) | (HIGHLIGHT_ALPHA << 24));
+
+            float[] outsidePoints = mGeometry.getOutsidePoints();
+            svg.line(mCenterPoint.x, mCenterPoint.y, outsidePoints[2 * mSelectedIndex],
+                    outsidePoints[2 * mSelectedIndex + 1], mCoverEdgeColor, mCoverEdgeWidth);
+        }
+    }
+
+    private void writeSvgGradient(PolygonSvgWriter svg, int id, int startColor, int endColor) throws IOException {
+        int offset = PolygonStyle.getCoverGradientOffset(mRadius);
+        svg.linearGradient(id, mCenterPoint.x + offset, mCenterPoint.y - offset,
+                mCenterPoint.x - offset, mCenterPoint.y + offset, startColor, endColor);
+    }
+
+    private void writeSvgText(PolygonSvgWriter svg) throws IOException {
+        if (mRingLabelsEnabled) {
+            float textSize = mRingLabelPaint.getTextSize();
+            float x = mCenterPoint.x + textSize / 3;
+            for (int i = 0; i < RING_LABEL_COUNT; i++) {
+                int radius = i < mBackgroundRadius.length ? mBackgroundRadius[i] : mRadius;
+                svg.text(mRingLabels[i], x, mCenterPoint.y - radius - textSize / 3, textSize, mValueTextColor, false);
+            }
+        }
+        //最大值的文字最后写出,位于其他文字之上,选中的文字以高亮颜色写出
+        int maxValueIndex = mData.getMaxValueIndex();
+        for (int i = 0; i < mEdgeNum; i++) {
+            if (i == maxValueIndex || (mLevelOfDetailEnabled && !mLabelVisible[i])) {
+                continue;
+            }
+            boolean selected = i == mSelectedIndex;
+            writeSvgLabel(svg, i, mKeyTextSize, selected ? mCoverEdgeColor : mKeyTextColor,
+                    mValueTextSize, selected ? mCoverEdgeColor : mValueTextColor);
+        }
+        boolean selected = maxValueIndex == mSelectedIndex;
+        writeSvgLabel(svg, maxValueIndex, mMaxKeyTextSize, selected ? mCoverEdgeColor : mMaxKeyTextColor,
+                mMaxValueTextSize, selected ? mCoverEdgeColor : mMaxValueTextColor);
+    }
+
+    private void writeSvgLabel(PolygonSvgWriter svg, int index, int keyTextSize, int keyColor,
+                               int valueTextSize, int valueColor) throws IOException {
+        float x = mLabelLayout.getCenterX(index);
+        float baseline = mLabelLayout.getKeyBaseline(index);
+        float lineHeight = mLabelLayout.getKeyLineHeight(index);
+        for (int j = 0, lineCount = mLabelLayout.getLineCount(index); j < lineCount; j++) {
+            svg.text(mLabelLayout.getLine(index, j), x, baseline + j * lineHeight, keyTextSize, keyColor, true);
+        }
+        svg.text(mLabelCache.get(index), x, mLabelLayout.getValueBaseline(index), valueTextSize, valueColor, true);
+    }
+
+
+    public void setEdgeWidth(int edgeWidth) {
+        applyChanges(changeEdgeWidth(edgeWidth));
+    }
+
+    public void setCoverEdgeWidth(int coverEdgeWidth) {
+        applyChanges(changeCoverEdgeWidth(coverEdgeWidth));
+    }
+
+    public void setPolygonRate(float polygonRate) {
+        applyChanges(changePolygonRate(polygonRate));
+    }
+
+    /**
+     * 设置满值,数据等于满值时顶点位于 polygonRate 处
+     *
+     * @param maxValue 不大于0时以数据集中的最大值作为满值
+     */
+    public void setMaxValue(float maxValue) {
+        applyChanges(changeMaxValue(maxValue));
+    }
+
+    public void setKeyTextSize(int keyTextSize) {
+        applyChanges(changeKeyTextSize(keyTextSize));
+    }
+
+    public void setValueTextSize(int valueTextSize) {
+        applyChanges(changeValueTextSize(valueTextSize));
+    }
+
+    public void setMaxKeyTextSize(int maxKeyTextSize) {
+        applyChanges(changeMaxKeyTextSize(maxKeyTextSize));
+    }
+
+    public void setMaxValueTextSize(int maxValueTextSize) {
+        applyChanges(changeMaxValueTextSize(maxValueTextSize));
+    }
+
+    public void setKeyTextColor(int keyTextColor) {
+        applyChanges(changeKeyTextColor(keyTextColor));
+    }
+
+    public void setValueTextColor(int valueTextColor) {
+        applyChanges(changeValueTextColor(valueTextColor));
+    }
+
+    public void setMaxKeyTextColor(int maxKeyTextColor) {
+        applyChanges(changeMaxKeyTextColor(maxKeyTextColor));
+    }
+
+    public void setMaxValueTextColor(int maxValueTextColor) {
+        applyChanges(changeMaxValueTextColor(maxValueTextColor));
+    }
+
+    public void setTextGraphMargin(int textGraphMargin) {
+        applyChanges(changeTextGraphMargin(textGraphMargin));
+    }
+
+    public void setEdgeColor(int edgeColor) {
+        applyChanges(changeEdgeColor(edgeColor));
+    }
+
+    public void setCoverEdgeColor(int coverEdgeColor) {
+        applyChanges(changeCoverEdgeColor(coverEdgeColor));
+    }
+
+    public void setCoverStartColor(int coverStartColor) {
+        applyChanges(changeCoverStartColor(coverStartColor));
+    }
+
+    public void setCoverEndColor(int coverEndColor) {
+        applyChanges(changeCoverEndColor(coverEndColor));
+    }
+
+    public void setCoverAlpha(int coverAlpha) {
+        applyChanges(changeCoverAlpha(coverAlpha));
+    }
+
+    //以下方法只修改样式本身,返回需要重新计算的部分
+
+    int changeEdgeWidth(int edgeWidth) {
+        mEdgeWidth = edgeWidth;
+        mEdgePaint.setStrokeWidth(mEdgeWidth);
+        return DIRTY_BACKGROUND;
+    }
+
+    int changeCoverEdgeWidth(int coverEdgeWidth) {
+        mCoverEdgeWidth = coverEdgeWidth;
+        mCoverEdgePaint.setStrokeWidth(mCoverEdgeWidth);
+        initHighlightPaint();
+        for (int i = 0, size = mSeries.size(); i < size; i++) {
+            mSeries.get(i).mEdgePaint.setStrokeWidth(mCoverEdgeWidth);
+        }
+        return 0;
+    }
+
+    int changePolygonRate(float polygonRate) {
+        mPolygonRate = polygonRate;
+        return DIRTY_COVER_RATES;
+    }
+
+    int changeMaxValue(float maxValue) {
+        mMaxValue = maxValue;
+        return DIRTY_COVER_RATES;
+    }
+
+    int changeKeyTextSize(int keyTextSize) {
+        mKeyTextSize = keyTextSize;
+        mKeyPaint.setTextSize(mKeyTextSize);
+        initHighlightPaint();
+        return DIRTY_FONT_METRICS | DIRTY_LAYOUT;
+    }
+
+    int changeValueTextSize(int valueTextSize) {
+        mValueTextSize = valueTextSize;
+        mValuePaint.setTextSize(mValueTextSize);
+        initHighlightPaint();
+        initRingLabelPaint();
+        return DIRTY_FONT_METRICS | DIRTY_LAYOUT;
+    }
+
+    int changeMaxKeyTextSize(int maxKeyTextSize) {
+        mMaxKeyTextSize = maxKeyTextSize;
+        mMaxKeyPaint.setTextSize(mMaxKeyTextSize);
+        initHighlightPaint();
+        return DIRTY_FONT_METRICS | DIRTY_LAYOUT;
+    }
+
+    int changeMaxValueTextSize(int maxValueTextSize) {
+        mMaxValueTextSize = maxValueTextSize;
+        mMaxValuePaint.setTextSize(mMaxValueTextSize);
+        initHighlightPaint();
+        return DIRTY_FONT_METRICS | DIRTY_LAYOUT;
+    }
+
+    int changeKeyTextColor(int keyTextColor) {
+        mKeyTextColor = keyTextColor;
+        mKeyPaint.setColor(mKeyTextColor);
+        return 0;
+    }
+
+    int changeValueTextColor(int valueTextColor) {
+        mValueTextColor = valueTextColor;
+        mValuePaint.setColor(mValueTextColor);
+        mRingLabelPaint.setColor(mValueTextColor);
+        return 0;
+    }
+
+    int changeMaxKeyTextColor(int maxKeyTextColor) {
+        mMaxKeyTextColor = maxKeyTextColor;
+        mMaxKeyPaint.setColor(mMaxKeyTextColor);
+        return 0;
+    }
+
+    int changeMaxValueTextColor(int maxValueTextColor) {
+        mMaxValueTextColor = maxValueTextColor;
+        mMaxValuePaint.setColor(mMaxValueTextColor);
+        return 0;
+    }
+
+    int changeTextGraphMargin(int textGraphMargin) {
+        mTextGraphMargin = textGraphMargin;
+        return DIRTY_LAYOUT;
+    }
+
+    int changeEdgeColor(int edgeColor) {
+        mEdgeColor = edgeColor;
+        mEdgePaint.setColor(mEdgeColor);
+        return DIRTY_BACKGROUND;
+    }
+
+    int changeCoverEdgeColor(int coverEdgeColor) {
+        mCoverEdgeColor = coverEdgeColor;
+        mCoverEdgePaint.setColor(mCoverEdgeColor);
+        initHighlightPaint();
+        return 0;
+    }
+
+    int changeCoverStartColor(int coverStartColor) {
+        mCoverStartColor = coverStartColor;
+        return DIRTY_SHADER;
+    }
+
+    int changeCoverEndColor(int coverEndColor) {
+        mCoverEndColor = coverEndColor;
+        return DIRTY_SHADER;
+    }
+
+    int changeCoverAlpha(int coverAlpha) {
+        mCoverAlpha = coverAlpha;
+        mCoverPaint.setAlpha(mCoverAlpha);
+        //顶点颜色中包含透明度
+        return DIRTY_SHADER;
+    }
+
+    /**
+     * 保存单独修改过的样式属性,即与当前样式不同的部分
+     *
+     * @return 第一项为各属性是否被修改的位掩码,之后依次为被修改属性的值,浮点数以位模式保存
+     */
+    int[] saveStyleOverrides() {
+        int[] current = packStyle();
+        int[] style = packStyle(mStyle);
+        int mask = 0;
+        for (int i = 0; i < STYLE_PROPERTY_COUNT; i++) {
+            if (current[i] != style[i]) {
+                mask |= 1 << i;
+            }
+        }
+        int[] overrides = new int[1 + Integer.bitCount(mask)];
+        overrides[0] = mask;
+        for (int i = 0, count = 1; i < STYLE_PROPERTY_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                overrides[count++] = current[i];
+            }
+        }
+        return overrides;
+    }
+
+    /**
+     * 恢复 {@link #saveStyleOverrides()} 保存的属性
+     *
+     * @return 需要重新计算的部分
+     */
+    int restoreStyleOverrides(int[] overrides) {
+        if (overrides == null || overrides.length == 0) {
+            return 0;
+        }
+        int mask = overrides[0];
+        int changes = 0;
+        for (int i = 0, count = 1; i < STYLE_PROPERTY_COUNT && count < overrides.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                changes |= changeStyleProperty(i, overrides[count++]);
+            }
+        }
+        return changes;
+    }
+
+    //以下三个方法中各属性的顺序需保持一致,保存的状态依赖该顺序
+
+    private int[] packStyle() {
+        return new int[]{mEdgeWidth, mCoverEdgeWidth,
+                Float.floatToIntBits(mPolygonRate), Float.floatToIntBits(mMaxValue),
+                mKeyTextSize, mValueTextSize, mMaxKeyTextSize, mMaxValueTextSize,
+                mKeyTextColor, mValueTextColor, mMaxKeyTextColor, mMaxValueTextColor,
+                mTextGraphMargin, mEdgeColor, mCoverEdgeColor,
+                mCoverStartColor, mCoverEndColor, mCoverAlpha};
+    }
+
+    private static int[] packStyle(PolygonStyle style) {
+        return new int[]{style.getEdgeWidth(), style.getCoverEdgeWidth(),
+                Float.floatToIntBits(style.getPolygonRate()), Float.floatToIntBits(style.getMaxValue()),
+                style.getKeyTextSize(), style.getValueTextSize(), style.getMaxKeyTextSize(), style.getMaxValueTextSize(),
+                style.getKeyTextColor(), style.getValueTextColor(), style.getMaxKeyTextColor(), style.getMaxValueTextColor(),
+                style.getTextGraphMargin(), style.getEdgeColor(), style.getCoverEdgeColor(),
+                style.getCoverStartColor(), style.getCoverEndColor(), style.getCoverAlpha()};
+    }
+
+    private int changeStyleProperty(int index, int value) {
+        switch (index) {
+            case 0:
+                return changeEdgeWidth(value);
+            case 1:
+                return changeCoverEdgeWidth(value);
+            case 2:
+                return changePolygonRate(Float.intBitsToFloat(value));
+            case 3:
+                return changeMaxValue(Float.intBitsToFloat(value));
+            case 4:
+                return changeKeyTextSize(value);
+            case 5:
+                return changeValueTextSize(value);
+            case 6:
+                return changeMaxKeyTextSize(value);
+            case 7:
+                return changeMaxValueTextSize(value);
+            case 8:
+                return changeKeyTextColor(value);
+            case 9:
+                return changeValueTextColor(value);
+            case 10:
+                return changeMaxKeyTextColor(value);
+            case 11:
+                return changeMaxValueTextColor(value);
+            case 12:
+                return changeTextGraphMargin(value);
+            case 13:
+                return changeEdgeColor(value);
+            case 14:
+                return changeCoverEdgeColor(value);
+            case 15:
+                return changeCoverStartColor(value);
+            case 16:
+                return changeCoverEndColor(value);
+            case 17:
+                return changeCoverAlpha(value);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 在主数据集之下叠加一组数据,与主数据集共享坐标轴及满值
+     * 主数据集的边数变化时,已叠加的数据集会被清除
+     *
+     * @param values     数据,长度与主数据集一致
+     * @param startColor 遮罩层渐变的起始颜色,同时作为边界颜色
+     * @param endColor   遮罩层渐变的结束颜色
+     * @param alpha      遮罩层的透明度
+     * @return 数据集的下标,数据不合法时返回-1
+     */
+    public int addSeries(float[] values, int startColor, int endColor, int alpha) {
+        if (values == null || mEdgeNum == 0 || values.length != mEdgeNum) {
+            return -1;
+        }
+        PolygonSeries series = new PolygonSeries(values, startColor, endColor, alpha, mCoverEdgeWidth);
+        if (mRadius > 0) {
+            series.setShader(createCoverShader(startColor, endColor));
+        }
+        mSeries.add(series);
+        onSeriesChanged();
+        return mSeries.size() - 1;
+    }
+
+    /**
+     * 更新叠加的数据集
+     *
+     * @param index  {@link #addSeries} 返回的下标
+     * @param values 数据,长度与主数据集一致
+     * @return 是否更新成功
+     */
+    public boolean setSeriesValues(int index, float[] values) {
+        if (index < 0 || index >= mSeries.size() || values == null || values.length != mEdgeNum) {
+            return false;
+        }
+        mSeries.get(index).setValues(values);
+        onSeriesChanged();
+        return true;
+    }
+
+    public boolean removeSeries(int index) {
+        if (index >= 0 && index < mSeries.size()) {
+            mSeries.remove(index);
+            onSeriesChanged();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean clearSeries() {
+        if (!mSeries.isEmpty()) {
+            mSeries.clear();
+            onSeriesChanged();
+            return true;
+        }
+        return false;
+    }
+
+    public int getSeriesCount() {
+        return mSeries.size();
+    }
+
+    /**
+     * 叠加数据集变化后重新计算满值及路径
+     */
+    private void onSeriesChanged() {
+        if (getCoverScale() != mCoverScale) {
+            //满值变化时主数据集也需要重新计算,其中会重新计算叠加数据集的路径
+            updateCoverRates(false);
+        } else {
+            initSeriesPaths();
+        }
+    }
+
+    /**
+     * 以最近若干次更新中的最大值作为满值,用于数据流的自动缩放
+     * 满值不会因为一次较小的更新而突然缩小,超出窗口后才随数据回落
+     * 设置了固定的满值 {@link #setMaxValue(float)} 时以固定的满值为准
+     *
+     * @param samples 窗口中的更新次数,不大于0时只以当前数据集的最大值作为满值
+     */
+    public void setScaleWindow(int samples) {
+        mScaleWindow = samples > 0 ? new SlidingWindowMax(samples) : null;
+        if (mEdgeNum > 0) {
+            pushScaleSample();
+            updateCoverRates(false);
+        }
+    }
+
+    /**
+     * 是否以经过各顶点的平滑闭合曲线绘制遮罩层,叠加的数据集仍为折线
+     * 开启后遮罩层总是以Path绘制,单个数据更新时只重新计算相邻的曲线段
+     */
+    public void setSmoothCoverEnabled(boolean enabled) {
+        if (mSmoothCoverEnabled == enabled) {
+            return;
+        }
+        mSmoothCoverEnabled = enabled;
+        if (mRadius > 0) {
+            initPolygonData();
+        }
+    }
+
+    /**
+     * 是否在各圈旁标注对应的数值,刻度随满值变化
+     */
+    public void setRingLabelsEnabled(boolean enabled) {
+        mRingLabelsEnabled = enabled;
+        mRingLabelScale = -1;
+        initRingLabels();
+    }
+
+    /**
+     * 设置各绘制阶段的耗时统计,为null时关闭
+     * 不会被复制到 {@link #PolygonRenderer(PolygonRenderer)} 创建的绘制器中
+     */
+    public void setMetrics(PolygonMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    PolygonMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * 是否开启细节分级,适用于边数很多的情况
+     * 开启后只绘制互不重叠的文字(总是保留最大值),外圈上间距过小的分割线会被抽稀,
+     * 遮罩层中相距不到半个像素的相邻顶点会被合并
+     */
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        if (mLevelOfDetailEnabled == enabled) {
+            return;
+        }
+        mLevelOfDetailEnabled = enabled;
+        initLevelOfDetail();
+        initPolygonData();
+        mBackgroundGeneration++;
+    }
+
+    /**
+     * 设置绘制方式
+     * {@link #RENDER_MODE_VERTICES} 以一次drawLines绘制所有分割线,以带顶点颜色的三角扇绘制遮罩层,
+     * 省去路径的三角化;硬件加速在Android Q之前不支持drawVertices,此时遮罩层仍以Path绘制
+     *
+     * @param renderMode {@link #RENDER_MODE_PATH} 或 {@link #RENDER_MODE_VERTICES}
+     */
+    public void setRenderMode(int renderMode) {
+        if (mRenderMode == renderMode) {
+            return;
+        }
+        mRenderMode = renderMode;
+        initSpokeLines();
+        initCoverMesh();
+        mBackgroundGeneration++;
+    }
+
+    /**
+     * 设置数据文字的格式,已绑定的数据会立即重新格式化
+     *
+     * @param formatter 为null时恢复默认格式
+     */
+    public void setValueFormatter(ValueFormatter formatter) {
+        mLabelCache.setFormatter(formatter);
+        mRingLabelScale = -1;
+        initRingLabels();
+        if (mEdgeNum > 0) {
+            mLabelCache.update(mData.getValues(), mEdgeNum);
+            applyChanges(DIRTY_LABELS);
+        }
+    }
+
+    public int getEdgeNum() {
+        return mEdgeNum;
+    }
+
+    int getRadius() {
+        return mRadius;
+    }
+
+    int getMaxValueIndex() {
+        return mData.getMaxValueIndex();
+    }
+
+    String[] getKeys() {
+        return mData.getKeys();
+    }
+
+    /**
+     * 过渡进行中时为过渡的目标
+     */
+    float[] getValues() {
+        return mData.getValues();
+    }
+
+    /**
+     * 背景层的版本,与上次绘制缓存时不同说明背景层需要重新绘制
+     */
+    int getBackgroundGeneration() {
+        return mBackgroundGeneration;
+    }
+
+    /**
+     * 以各文字样式的Paint测量文字
+     */
+    private class PaintTextMeasurer implements TextMeasurer {
+
+        private Paint getPaint(int style) {
+            switch (style) {
+                case LabelLayout.STYLE_VALUE:
+                    return mValuePaint;
+                case LabelLayout.STYLE_MAX_KEY:
+                    return mMaxKeyPaint;
+                case LabelLayout.STYLE_MAX_VALUE:
+                    return mMaxValuePaint;
+                default:
+                    return mKeyPaint;
+            }
+        }
+
+        @Override
+        public float measureText(String text, int style) {
+            return getPaint(style).measureText(text);
+        }
+
+        @Override
+        public int breakText(String text, int start, float maxWidth, int style) {
+            return getPaint(style).breakText(text, start, text.length(), true, maxWidth, null);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Shader;
+
+/**
+ * 叠加在主数据集坐标轴上的一组数据
+ * 顶点方向及半径与主数据集共享,只保存各自的数据、绘制路径及画笔
+ */
+class PolygonSeries {
+
+    //数据
+    private float[] mValues;
+    //数据中的最大值
+    private float mMaxValue;
+
+    //遮罩层的渐变起始颜色及结束颜色
+    private int mStartColor;
+    private int mEndColor;
+
+    //遮罩层绘制路径,重新计算时复用
+    final Path mPath = new Path();
+    //遮罩层及边界的Paint
+    final Paint mCoverPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    final Paint mEdgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    PolygonSeries(float[] values, int startColor, int endColor, int alpha, int edgeWidth) {
+        mValues = new float[values.length];
+        setValues(values);
+
+        mStartColor = startColor;
+        mEndColor = endColor;
+        mCoverPaint.setAlpha(alpha);
+
+        mEdgePaint.setStyle(Paint.Style.STROKE);
+        mEdgePaint.setStrokeJoin(Paint.Join.ROUND);
+        mEdgePaint.setStrokeWidth(edgeWidth);
+        mEdgePaint.setColor(startColor);
+    }
+
+    void setValues(float[] values) {
+        System.arraycopy(values, 0, mValues, 0, mValues.length);
+        mMaxValue = values.length == 0 ? 0 : values[0];
+        for (float value : values) {
+            mMaxValue = Math.max(mMaxValue, value);
+        }
+    }
+
+    void setShader(Shader shader) {
+        mCoverPaint.setShader(shader);
+    }
+
+    float[] getValues() {
+        return mValues;
+    }
+
+    float getMaxValue() {
+        return mMaxValue;
+    }
+
+    int getStartColor() {
+        return mStartColor;
+    }
+
+    int getEndColor() {
+        return mEndColor;
+    }
+}
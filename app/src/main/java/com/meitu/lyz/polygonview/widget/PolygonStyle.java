@@ -0,0 +1,677 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.DashPathEffect;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.PathEffect;
+import android.graphics.Shader;
+import android.graphics.Typeface;
+import android.support.v4.content.ContextCompat;
+import android.util.LruCache;
+
+import com.meitu.lyz.polygonview.R;
+import com.meitu.lyz.polygonview.util.ConvertUtils;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 多边形的样式,创建后不可修改,可以被任意多个View及绘制器共享
+ * 同一主题的默认样式只解析一次;由样式派生的FontMetrics、Shader及PathEffect
+ * 缓存在样式自身的有界LRU缓存中,共享样式的所有实例都不会重复创建
+ * 缓存是线程安全的,可以在后台绘制线程中使用
+ */
+public final class PolygonStyle {
+
+    //默认比例
+    static final float DEFAULT_POLYGON_RATE = 0.92f;
+    //默认透明度
+    static final int DEFAULT_COVER_ALPHA = 205;
+    //默认的分割线最小间距,单位dp
+    private static final int DEFAULT_MIN_SPOKE_SPACING = 4;
+
+    //各个派生对象缓存的容量
+    private static final int FONT_METRICS_CACHE_SIZE = 8;
+    private static final int SHADER_CACHE_SIZE = 16;
+    private static final int DASH_EFFECT_CACHE_SIZE = 8;
+    //按内容共享的样式个数
+    private static final int INTERN_CACHE_SIZE = 16;
+
+    //各主题的默认样式
+    private static final Map<Resources.Theme, PolygonStyle> sThemeStyles = new WeakHashMap<>();
+    //内容相同的样式共享同一个实例,从而共享派生对象的缓存
+    private static final LruCache<PolygonStyle, PolygonStyle> sInternedStyles = new LruCache<>(INTERN_CACHE_SIZE);
+
+    private final int mEdgeWidth;
+    private final int mCoverEdgeWidth;
+    private final float mPolygonRate;
+    private final float mMaxValue;
+
+    private final int mKeyTextSize;
+    private final int mValueTextSize;
+    private final int mMaxKeyTextSize;
+    private final int mMaxValueTextSize;
+    private final int mKeyTextColor;
+    private final int mValueTextColor;
+    private final int mMaxKeyTextColor;
+    private final int mMaxValueTextColor;
+    private final int mTextGraphMargin;
+
+    private final int mEdgeColor;
+    private final int mCoverEdgeColor;
+    private final int mCoverStartColor;
+    private final int mCoverEndColor;
+    private final int mCoverAlpha;
+
+    private final boolean mLevelOfDetailEnabled;
+    private final int mMinSpokeSpacing;
+    private final int mRenderMode;
+
+    //以文字大小为键的FontMetrics,文字均为粗体
+    private final LruCache<Integer, Paint.FontMetrics> mFontMetricsCache =
+            new LruCache<Integer, Paint.FontMetrics>(FONT_METRICS_CACHE_SIZE) {
+                @Override
+                protected Paint.FontMetrics create(Integer textSize) {
+                    Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+                    paint.setTypeface(Typeface.DEFAULT_BOLD);
+                    paint.setTextSize(textSize);
+                    Paint.FontMetrics metrics = new Paint.FontMetrics();
+                    paint.getFontMetrics(metrics);
+                    return metrics;
+                }
+            };
+    //以中心点、半径及颜色为键的遮罩层渐变
+    private final LruCache<ShaderKey, Shader> mShaderCache = new LruCache<>(SHADER_CACHE_SIZE);
+    //查找渐变时复用的键,只在持有mShaderCache的锁时使用
+    private final ShaderKey mShaderProbe = new ShaderKey();
+    //以最内圈半径为键的虚线效果
+    private final LruCache<Integer, PathEffect> mDashEffectCache =
+            new LruCache<Integer, PathEffect>(DASH_EFFECT_CACHE_SIZE) {
+                @Override
+                protected PathEffect create(Integer ringRadius) {
+                    float interval = getDashInterval(ringRadius);
+                    return new DashPathEffect(new float[]{interval, interval}, 0);
+                }
+            };
+
+    private PolygonStyle(Builder builder) {
+        mEdgeWidth = builder.mEdgeWidth;
+        mCoverEdgeWidth = builder.mCoverEdgeWidth;
+        mPolygonRate = builder.mPolygonRate;
+        mMaxValue = builder.mMaxValue;
+        mKeyTextSize = builder.mKeyTextSize;
+        mValueTextSize = builder.mValueTextSize;
+        mMaxKeyTextSize = builder.mMaxKeyTextSize;
+        mMaxValueTextSize = builder.mMaxValueTextSize;
+        mKeyTextColor = builder.mKeyTextColor;
+        mValueTextColor = builder.mValueTextColor;
+        mMaxKeyTextColor = builder.mMaxKeyTextColor;
+        mMaxValueTextColor = builder.mMaxValueTextColor;
+        mTextGraphMargin = builder.mTextGraphMargin;
+        mEdgeColor = builder.mEdgeColor;
+        mCoverEdgeColor = builder.mCoverEdgeColor;
+        mCoverStartColor = builder.mCoverStartColor;
+        mCoverEndColor = builder.mCoverEndColor;
+        mCoverAlpha = builder.mCoverAlpha;
+        mLevelOfDetailEnabled = builder.mLevelOfDetailEnabled;
+        mMinSpokeSpacing = builder.mMinSpokeSpacing;
+        mRenderMode = builder.mRenderMode;
+    }
+
+    /**
+     * 获取主题的默认样式,每个主题只解析一次
+     */
+    public static PolygonStyle obtain(Context context) {
+        Resources.Theme theme = context.getTheme();
+        synchronized (sThemeStyles) {
+            PolygonStyle style = sThemeStyles.get(theme);
+            if (style == null) {
+                TypedArray typedArray = context.obtainStyledAttributes(null, R.styleable.PolygonView);
+                style = fromAttributes(typedArray, fromResources(context));
+                typedArray.recycle();
+                sThemeStyles.put(theme, style);
+            }
+            return style;
+        }
+    }
+
+    /**
+     * 读取资源中的默认值
+     */
+    private static PolygonStyle fromResources(Context context) {
+        Resources resources = context.getResources();
+        Builder builder = new Builder();
+
+        builder.mKeyTextColor = ContextCompat.getColor(context, R.color.polygon_view_key_text_color);
+        builder.mMaxKeyTextColor = ContextCompat.getColor(context, R.color.polygon_view_max_key_text_color);
+        builder.mValueTextColor = ContextCompat.getColor(context, R.color.polygon_view_value_text_color);
+        builder.mMaxValueTextColor = ContextCompat.getColor(context, R.color.polygon_view_max_value_text_color);
+        builder.mEdgeColor = ContextCompat.getColor(context, R.color.polygon_view_edge_color);
+        builder.mCoverEdgeColor = ContextCompat.getColor(context, R.color.polygon_view_cover_edge_color);
+        builder.mCoverStartColor = ContextCompat.getColor(context, R.color.polygon_view_cover_start_color);
+        builder.mCoverEndColor = ContextCompat.getColor(context, R.color.polygon_view_cover_end_color);
+
+        builder.mKeyTextSize = resources.getDimensionPixelSize(R.dimen.polygon_view_key_text_size);
+        builder.mValueTextSize = resources.getDimensionPixelSize(R.dimen.polygon_view_value_text_size);
+        builder.mMaxKeyTextSize = resources.getDimensionPixelSize(R.dimen.polygon_view_max_key_text_size);
+        builder.mMaxValueTextSize = resources.getDimensionPixelSize(R.dimen.polygon_view_max_value_text_size);
+
+        builder.mEdgeWidth = resources.getDimensionPixelOffset(R.dimen.polygon_view_edge_width);
+        builder.mCoverEdgeWidth = resources.getDimensionPixelOffset(R.dimen.polygon_view_cover_edge_width);
+        builder.mTextGraphMargin = resources.getDimensionPixelOffset(R.dimen.polygon_view_text_graph_margin);
+
+        builder.mMinSpokeSpacing = ConvertUtils.dp2px(context, DEFAULT_MIN_SPOKE_SPACING);
+        return builder.build();
+    }
+
+    /**
+     * 从自定义属性中解析样式,只读取TypedArray中设置了的属性,其余沿用defaults
+     * 由调用者负责回收TypedArray
+     *
+     * @param defaults 通常为主题的默认样式
+     */
+    static PolygonStyle fromAttributes(TypedArray typedArray, PolygonStyle defaults) {
+        Builder builder = defaults.buildUpon();
+        for (int i = 0, count = typedArray.getIndexCount(); i < count; i++) {
+            int attr = typedArray.getIndex(i);
+            switch (attr) {
+                case R.styleable.PolygonView_key_text_color:
+                    builder.mKeyTextColor = typedArray.getColor(attr, builder.mKeyTextColor);
+                    break;
+                case R.styleable.PolygonView_max_key_text_color:
+                    builder.mMaxKeyTextColor = typedArray.getColor(attr, builder.mMaxKeyTextColor);
+                    break;
+                case R.styleable.PolygonView_value_text_color:
+                    builder.mValueTextColor = typedArray.getColor(attr, builder.mValueTextColor);
+                    break;
+                case R.styleable.PolygonView_max_value_text_color:
+                    builder.mMaxValueTextColor = typedArray.getColor(attr, builder.mMaxValueTextColor);
+                    break;
+                case R.styleable.PolygonView_edge_color:
+                    builder.mEdgeColor = typedArray.getColor(attr, builder.mEdgeColor);
+                    break;
+                case R.styleable.PolygonView_cover_edge_color:
+                    builder.mCoverEdgeColor = typedArray.getColor(attr, builder.mCoverEdgeColor);
+                    break;
+                case R.styleable.PolygonView_cover_start_color:
+                    builder.mCoverStartColor = typedArray.getColor(attr, builder.mCoverStartColor);
+                    break;
+                case R.styleable.PolygonView_cover_end_color:
+                    builder.mCoverEndColor = typedArray.getColor(attr, builder.mCoverEndColor);
+                    break;
+                case R.styleable.PolygonView_cover_alpha:
+                    builder.mCoverAlpha = typedArray.getInteger(attr, builder.mCoverAlpha);
+                    break;
+                case R.styleable.PolygonView_polygon_rate:
+                    builder.mPolygonRate = typedArray.getFloat(attr, builder.mPolygonRate);
+                    break;
+                case R.styleable.PolygonView_max_value:
+                    builder.mMaxValue = typedArray.getFloat(attr, builder.mMaxValue);
+                    break;
+                case R.styleable.PolygonView_key_text_size:
+                    builder.mKeyTextSize = typedArray.getDimensionPixelOffset(attr, builder.mKeyTextSize);
+                    break;
+                case R.styleable.PolygonView_value_text_size:
+                    builder.mValueTextSize = typedArray.getDimensionPixelOffset(attr, builder.mValueTextSize);
+                    break;
+                case R.styleable.PolygonView_max_key_text_size:
+                    builder.mMaxKeyTextSize = typedArray.getDimensionPixelOffset(attr, builder.mMaxKeyTextSize);
+                    break;
+                case R.styleable.PolygonView_max_value_text_size:
+                    builder.mMaxValueTextSize = typedArray.getDimensionPixelOffset(attr, builder.mMaxValueTextSize);
+                    break;
+                case R.styleable.PolygonView_edge_width:
+                    builder.mEdgeWidth = typedArray.getDimensionPixelOffset(attr, builder.mEdgeWidth);
+                    break;
+                case R.styleable.PolygonView_cover_edge_width:
+                    builder.mCoverEdgeWidth = typedArray.getDimensionPixelOffset(attr, builder.mCoverEdgeWidth);
+                    break;
+                case R.styleable.PolygonView_text_graph_margin:
+                    builder.mTextGraphMargin = typedArray.getDimensionPixelOffset(attr, builder.mTextGraphMargin);
+                    break;
+                case R.styleable.PolygonView_level_of_detail:
+                    builder.mLevelOfDetailEnabled = typedArray.getBoolean(attr, builder.mLevelOfDetailEnabled);
+                    break;
+                case R.styleable.PolygonView_render_mode:
+                    builder.mRenderMode = typedArray.getInt(attr, builder.mRenderMode);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 返回内容相同的共享实例
+     */
+    static PolygonStyle intern(PolygonStyle style) {
+        synchronized (sInternedStyles) {
+            PolygonStyle interned = sInternedStyles.get(style);
+            if (interned == null) {
+                sInternedStyles.put(style, style);
+                interned = style;
+            }
+            return interned;
+        }
+    }
+
+    /**
+     * 以当前样式为基础创建Builder
+     */
+    public Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    /**
+     * 将文字大小对应的FontMetrics复制到out中
+     */
+    void getFontMetrics(int textSize, Paint.FontMetrics out) {
+        Paint.FontMetrics metrics = mFontMetricsCache.get(textSize);
+        out.top = metrics.top;
+        out.ascent = metrics.ascent;
+        out.descent = metrics.descent;
+        out.bottom = metrics.bottom;
+        out.leading = metrics.leading;
+    }
+
+    /**
+     * 从右上角到左下角的遮罩层渐变
+     */
+    Shader getCoverShader(float centerX, float centerY, int radius, int startColor, int endColor) {
+        synchronized (mShaderCache) {
+            mShaderProbe.set(centerX, centerY, radius, startColor, endColor);
+            Shader shader = mShaderCache.get(mShaderProbe);
+            if (shader == null) {
+                int offset = getCoverGradientOffset(radius);
+                shader = new LinearGradient(centerX + offset, centerY - offset,
+                        centerX - offset, centerY + offset,
+                        startColor, endColor, Shader.TileMode.CLAMP);
+                //缓存中保存键的副本,探针键继续复用
+                ShaderKey key = new ShaderKey();
+                key.set(centerX, centerY, radius, startColor, endColor);
+                mShaderCache.put(key, shader);
+            }
+            return shader;
+        }
+    }
+
+    /**
+     * 渐变的两个端点相对中心点在x,y方向上的偏移
+     */
+    static int getCoverGradientOffset(int radius) {
+        return (int) (Math.sin(0.25 * Math.PI) * radius);
+    }
+
+    /**
+     * 内部圆每圈40段虚线
+     */
+    static float getDashInterval(int ringRadius) {
+        return (float) (ringRadius * 2 * Math.PI / 40f);
+    }
+
+    /**
+     * 内部圆的虚线效果,虚线长度由最内圈的半径决定
+     */
+    PathEffect getDashEffect(int ringRadius) {
+        return mDashEffectCache.get(ringRadius);
+    }
+
+    public int getEdgeWidth() {
+        return mEdgeWidth;
+    }
+
+    public int getCoverEdgeWidth() {
+        return mCoverEdgeWidth;
+    }
+
+    public float getPolygonRate() {
+        return mPolygonRate;
+    }
+
+    public float getMaxValue() {
+        return mMaxValue;
+    }
+
+    public int getKeyTextSize() {
+        return mKeyTextSize;
+    }
+
+    public int getValueTextSize() {
+        return mValueTextSize;
+    }
+
+    public int getMaxKeyTextSize() {
+        return mMaxKeyTextSize;
+    }
+
+    public int getMaxValueTextSize() {
+        return mMaxValueTextSize;
+    }
+
+    public int getKeyTextColor() {
+        return mKeyTextColor;
+    }
+
+    public int getValueTextColor() {
+        return mValueTextColor;
+    }
+
+    public int getMaxKeyTextColor() {
+        return mMaxKeyTextColor;
+    }
+
+    public int getMaxValueTextColor() {
+        return mMaxValueTextColor;
+    }
+
+    public int getTextGraphMargin() {
+        return mTextGraphMargin;
+    }
+
+    public int getEdgeColor() {
+        return mEdgeColor;
+    }
+
+    public int getCoverEdgeColor() {
+        return mCoverEdgeColor;
+    }
+
+    public int getCoverStartColor() {
+        return mCoverStartColor;
+    }
+
+    public int getCoverEndColor() {
+        return mCoverEndColor;
+    }
+
+    public int getCoverAlpha() {
+        return mCoverAlpha;
+    }
+
+    public boolean isLevelOfDetailEnabled() {
+        return mLevelOfDetailEnabled;
+    }
+
+    public int getMinSpokeSpacing() {
+        return mMinSpokeSpacing;
+    }
+
+    public int getRenderMode() {
+        return mRenderMode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PolygonStyle)) {
+            return false;
+        }
+        PolygonStyle style = (PolygonStyle) o;
+        return mEdgeWidth == style.mEdgeWidth
+                && mCoverEdgeWidth == style.mCoverEdgeWidth
+                && Float.compare(mPolygonRate, style.mPolygonRate) == 0
+                && Float.compare(mMaxValue, style.mMaxValue) == 0
+                && mKeyTextSize == style.mKeyTextSize
+                && mValueTextSize == style.mValueTextSize
+                && mMaxKeyTextSize == style.mMaxKeyTextSize
+                && mMaxValueTextSize == style.mMaxValueTextSize
+                && mKeyTextColor == style.mKeyTextColor
+                && mValueTextColor == style.mValueTextColor
+                && mMaxKeyTextColor == style.mMaxKeyTextColor
+                && mMaxValueTextColor == style.mMaxValueTextColor
+                && mTextGraphMargin == style.mTextGraphMargin
+                && mEdgeColor == style.mEdgeColor
+                && mCoverEdgeColor == style.mCoverEdgeColor
+                && mCoverStartColor == style.mCoverStartColor
+                && mCoverEndColor == style.mCoverEndColor
+                && mCoverAlpha == style.mCoverAlpha
+                && mLevelOfDetailEnabled == style.mLevelOfDetailEnabled
+                && mMinSpokeSpacing == style.mMinSpokeSpacing
+                && mRenderMode == style.mRenderMode;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mEdgeWidth;
+        result = 31 * result + mCoverEdgeWidth;
+        result = 31 * result + Float.floatToIntBits(mPolygonRate);
+        result = 31 * result + Float.floatToIntBits(mMaxValue);
+        result = 31 * result + mKeyTextSize;
+        result = 31 * result + mValueTextSize;
+        result = 31 * result + mMaxKeyTextSize;
+        result = 31 * result + mMaxValueTextSize;
+        result = 31 * result + mKeyTextColor;
+        result = 31 * result + mValueTextColor;
+        result = 31 * result + mMaxKeyTextColor;
+        result = 31 * result + mMaxValueTextColor;
+        result = 31 * result + mTextGraphMargin;
+        result = 31 * result + mEdgeColor;
+        result = 31 * result + mCoverEdgeColor;
+        result = 31 * result + mCoverStartColor;
+        result = 31 * result + mCoverEndColor;
+        result = 31 * result + mCoverAlpha;
+        result = 31 * result + (mLevelOfDetailEnabled ? 1 : 0);
+        result = 31 * result + mMinSpokeSpacing;
+        result = 31 * result + mRenderMode;
+        return result;
+    }
+
+    /**
+     * 遮罩层渐变的缓存键,放入缓存后不再修改
+     */
+    private static final class ShaderKey {
+
+        private float mCenterX;
+        private float mCenterY;
+        private int mRadius;
+        private int mStartColor;
+        private int mEndColor;
+
+        void set(float centerX, float centerY, int radius, int startColor, int endColor) {
+            mCenterX = centerX;
+            mCenterY = centerY;
+            mRadius = radius;
+            mStartColor = startColor;
+            mEndColor = endColor;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ShaderKey)) {
+                return false;
+            }
+            ShaderKey key = (ShaderKey) o;
+            return Float.compare(mCenterX, key.mCenterX) == 0
+                    && Float.compare(mCenterY, key.mCenterY) == 0
+                    && mRadius == key.mRadius
+                    && mStartColor == key.mStartColor
+                    && mEndColor == key.mEndColor;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Float.floatToIntBits(mCenterX);
+            result = 31 * result + Float.floatToIntBits(mCenterY);
+            result = 31 * result + mRadius;
+            result = 31 * result + mStartColor;
+            result = 31 * result + mEndColor;
+            return result;
+        }
+    }
+
+    /**
+     * 样式的构造器,未设置的颜色及尺寸为0
+     */
+    public static final class Builder {
+
+        private int mEdgeWidth;
+        private int mCoverEdgeWidth;
+        private float mPolygonRate = DEFAULT_POLYGON_RATE;
+        private float mMaxValue;
+        private int mKeyTextSize;
+        private int mValueTextSize;
+        private int mMaxKeyTextSize;
+        private int mMaxValueTextSize;
+        private int mKeyTextColor;
+        private int mValueTextColor;
+        private int mMaxKeyTextColor;
+        private int mMaxValueTextColor;
+        private int mTextGraphMargin;
+        private int mEdgeColor;
+        private int mCoverEdgeColor;
+        private int mCoverStartColor;
+        private int mCoverEndColor;
+        private int mCoverAlpha = DEFAULT_COVER_ALPHA;
+        private boolean mLevelOfDetailEnabled;
+        private int mMinSpokeSpacing;
+        private int mRenderMode = PolygonRenderer.RENDER_MODE_PATH;
+
+        public Builder() {
+        }
+
+        private Builder(PolygonStyle style) {
+            mEdgeWidth = style.mEdgeWidth;
+            mCoverEdgeWidth = style.mCoverEdgeWidth;
+            mPolygonRate = style.mPolygonRate;
+            mMaxValue = style.mMaxValue;
+            mKeyTextSize = style.mKeyTextSize;
+            mValueTextSize = style.mValueTextSize;
+            mMaxKeyTextSize = style.mMaxKeyTextSize;
+            mMaxValueTextSize = style.mMaxValueTextSize;
+            mKeyTextColor = style.mKeyTextColor;
+            mValueTextColor = style.mValueTextColor;
+            mMaxKeyTextColor = style.mMaxKeyTextColor;
+            mMaxValueTextColor = style.mMaxValueTextColor;
+            mTextGraphMargin = style.mTextGraphMargin;
+            mEdgeColor = style.mEdgeColor;
+            mCoverEdgeColor = style.mCoverEdgeColor;
+            mCoverStartColor = style.mCoverStartColor;
+            mCoverEndColor = style.mCoverEndColor;
+            mCoverAlpha = style.mCoverAlpha;
+            mLevelOfDetailEnabled = style.mLevelOfDetailEnabled;
+            mMinSpokeSpacing = style.mMinSpokeSpacing;
+            mRenderMode = style.mRenderMode;
+        }
+
+        public Builder setEdgeWidth(int edgeWidth) {
+            mEdgeWidth = edgeWidth;
+            return this;
+        }
+
+        public Builder setCoverEdgeWidth(int coverEdgeWidth) {
+            mCoverEdgeWidth = coverEdgeWidth;
+            return this;
+        }
+
+        public Builder setPolygonRate(float polygonRate) {
+            mPolygonRate = polygonRate;
+            return this;
+        }
+
+        public Builder setMaxValue(float maxValue) {
+            mMaxValue = maxValue;
+            return this;
+        }
+
+        public Builder setKeyTextSize(int keyTextSize) {
+            mKeyTextSize = keyTextSize;
+            return this;
+        }
+
+        public Builder setValueTextSize(int valueTextSize) {
+            mValueTextSize = valueTextSize;
+            return this;
+        }
+
+        public Builder setMaxKeyTextSize(int maxKeyTextSize) {
+            mMaxKeyTextSize = maxKeyTextSize;
+            return this;
+        }
+
+        public Builder setMaxValueTextSize(int maxValueTextSize) {
+            mMaxValueTextSize = maxValueTextSize;
+            return this;
+        }
+
+        public Builder setKeyTextColor(int keyTextColor) {
+            mKeyTextColor = keyTextColor;
+            return this;
+        }
+
+        public Builder setValueTextColor(int valueTextColor) {
+            mValueTextColor = valueTextColor;
+            return this;
+        }
+
+        public Builder setMaxKeyTextColor(int maxKeyTextColor) {
+            mMaxKeyTextColor = maxKeyTextColor;
+            return this;
+        }
+
+        public Builder setMaxValueTextColor(int maxValueTextColor) {
+            mMaxValueTextColor = maxValueTextColor;
+            return this;
+        }
+
+        public Builder setTextGraphMargin(int textGraphMargin) {
+            mTextGraphMargin = textGraphMargin;
+            return this;
+        }
+
+        public Builder setEdgeColor(int edgeColor) {
+            mEdgeColor = edgeColor;
+            return this;
+        }
+
+        public Builder setCoverEdgeColor(int coverEdgeColor) {
+            mCoverEdgeColor = coverEdgeColor;
+            return this;
+        }
+
+        public Builder setCoverStartColor(int coverStartColor) {
+            mCoverStartColor = coverStartColor;
+            return this;
+        }
+
+        public Builder setCoverEndColor(int coverEndColor) {
+            mCoverEndColor = coverEndColor;
+            return this;
+        }
+
+        public Builder setCoverAlpha(int coverAlpha) {
+            mCoverAlpha = coverAlpha;
+            return this;
+        }
+
+        public Builder setLevelOfDetailEnabled(boolean enabled) {
+            mLevelOfDetailEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * @param minSpokeSpacing 细节分级时分割线在外圈上的最小间距,单位px
+         */
+        public Builder setMinSpokeSpacing(int minSpokeSpacing) {
+            mMinSpokeSpacing = minSpokeSpacing;
+            return this;
+        }
+
+        public Builder setRenderMode(int renderMode) {
+            mRenderMode = renderMode;
+            return this;
+        }
+
+        /**
+         * 创建样式,内容与已有样式相同时返回共享的实例
+         */
+        public PolygonStyle build() {
+            return intern(new PolygonStyle(this));
+        }
+    }
+}
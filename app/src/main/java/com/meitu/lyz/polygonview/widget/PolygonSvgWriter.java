@@ -0,0 +1,446 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.graphics.Color;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * 将绘制器当前的图表以SVG矢量图写出,用于归档及分享清晰的图表
+ * 元素按 {@link PolygonRenderer} 绘制时使用的同一份点集依次写出,不构建对象树,
+ * 数字直接格式化到复用的字符数组中,写入输出流时复用同一个编码缓冲区,批量导出时内存占用不随图表数量增长
+ * 非线程安全,每个线程使用各自的实例
+ * <pre>
+ * PolygonSvgWriter svgWriter = new PolygonSvgWriter();
+ * for (...) {
+ *     renderer.setData(keys, values);
+ *     svgWriter.write(renderer, outputStream);
+ * }
+ * </pre>
+ */
+public class PolygonSvgWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    //数字保留的小数位数对应的倍数
+    private static final int NUMBER_SCALE = 100;
+
+    private Writer mOut;
+    //格式化数字时复用,足够容纳long的全部位数、符号及小数
+    private final char[] mNumberBuffer = new char[24];
+    //写入输出流时复用,每次写出时换绑输出流
+    private final Utf8StreamWriter mStreamWriter = new Utf8StreamWriter();
+
+    /**
+     * 绘制器需已设置尺寸,没有数据时只写出空白的画布
+     * 写出后会flush,但不会关闭writer
+     */
+    public void write(PolygonRenderer renderer, Writer writer) throws IOException {
+        mOut = writer;
+        try {
+            renderer.writeSvg(this);
+        } finally {
+            mOut = null;
+        }
+        writer.flush();
+    }
+
+    /**
+     * 以UTF-8编码写出,写出后会flush,但不会关闭输出流
+     */
+    public void write(PolygonRenderer renderer, OutputStream out) throws IOException {
+        mStreamWriter.setOutputStream(out);
+        try {
+            write(renderer, mStreamWriter);
+        } finally {
+            mStreamWriter.setOutputStream(null);
+        }
+    }
+
+    //以下方法供绘制器逐个写出元素
+
+    void beginDocument(int width, int height) throws IOException {
+        mOut.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"");
+        writeNumber(width);
+        mOut.write("\" height=\"");
+        writeNumber(height);
+        mOut.write("\" viewBox=\"0 0 ");
+        writeNumber(width);
+        mOut.write(' ');
+        writeNumber(height);
+        mOut.write("\">\n");
+    }
+
+    void endDocument() throws IOException {
+        mOut.write("</svg>\n");
+    }
+
+    /**
+     * 线性渐变,以 {@link #endPolygon(int, int, int, float)} 中的下标引用
+     */
+    void linearGradient(int id, float x1, float y1, float x2, float y2, int startColor, int endColor)
+            throws IOException {
+        mOut.write("<defs><linearGradient id=\"g");
+        writeNumber(id);
+        mOut.write("\" gradientUnits=\"userSpaceOnUse\" x1=\"");
+        writeNumber(x1);
+        mOut.write("\" y1=\"");
+        writeNumber(y1);
+        mOut.write("\" x2=\"");
+        writeNumber(x2);
+        mOut.write("\" y2=\"");
+        writeNumber(y2);
+        mOut.write("\">");
+        writeStop(0, startColor);
+        writeStop(1, endColor);
+        mOut.write("</linearGradient></defs>\n");
+    }
+
+    private void writeStop(int offset, int color) throws IOException {
+        mOut.write("<stop offset=\"");
+        writeNumber(offset);
+        mOut.write("\" stop-color=\"");
+        writeColor(color);
+        mOut.write('"');
+        writeOpacity(" stop-opacity=\"", Color.alpha(color));
+        mOut.write("/>");
+    }
+
+    /**
+     * 圆环,不填充
+     *
+     * @param dashInterval 虚线及间隔的长度,不大于0时为实线
+     */
+    void circle(float centerX, float centerY, float radius, int strokeColor, float strokeWidth, float dashInterval)
+            throws IOException {
+        mOut.write("<circle cx=\"");
+        writeNumber(centerX);
+        mOut.write("\" cy=\"");
+        writeNumber(centerY);
+        mOut.write("\" r=\"");
+        writeNumber(radius);
+        mOut.write("\" fill=\"none\"");
+        writeStroke(strokeColor, strokeWidth);
+        if (dashInterval > 0) {
+            mOut.write(" stroke-dasharray=\"");
+            writeNumber(dashInterval);
+            mOut.write(' ');
+            writeNumber(dashInterval);
+            mOut.write('"');
+        }
+        mOut.write("/>\n");
+    }
+
+    void line(float startX, float startY, float stopX, float stopY, int strokeColor, float strokeWidth)
+            throws IOException {
+        mOut.write("<line x1=\"");
+        writeNumber(startX);
+        mOut.write("\" y1=\"");
+        writeNumber(startY);
+        mOut.write("\" x2=\"");
+        writeNumber(stopX);
+        mOut.write("\" y2=\"");
+        writeNumber(stopY);
+        mOut.write('"');
+        writeStroke(strokeColor, strokeWidth);
+        mOut.write("/>\n");
+    }
+
+    /**
+     * 开始一个多边形,之后依次调用 {@link #point(float, float)} 写出顶点
+     */
+    void beginPolygon() throws IOException {
+        mOut.write("<polygon points=\"");
+    }
+
+    void point(float x, float y) throws IOException {
+        writeNumber(x);
+        mOut.write(',');
+        writeNumber(y);
+        mOut.write(' ');
+    }
+
+    /**
+     * 以渐变填充并描边,与先填充后描边的绘制效果相同
+     *
+     * @param gradientId {@link #linearGradient} 的下标
+     * @param fillAlpha  填充的透明度
+     */
+    void endPolygon(int gradientId, int fillAlpha, int strokeColor, float strokeWidth) throws IOException {
+        writeGradientFill(gradientId, fillAlpha, strokeColor, strokeWidth);
+    }
+
+    /**
+     * 开始一条闭合路径,之后依次调用 {@link #cubicTo} 写出曲线段
+     */
+    void beginPath(float x, float y) throws IOException {
+        mOut.write("<path d=\"M");
+        point(x, y);
+    }
+
+    void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) throws IOException {
+        mOut.write('C');
+        point(x1, y1);
+        point(x2, y2);
+        point(x3, y3);
+    }
+
+    /**
+     * 闭合路径,填充及描边与 {@link #endPolygon(int, int, int, float)} 相同
+     */
+    void endPath(int gradientId, int fillAlpha, int strokeColor, float strokeWidth) throws IOException {
+        mOut.write('Z');
+        writeGradientFill(gradientId, fillAlpha, strokeColor, strokeWidth);
+    }
+
+    private void writeGradientFill(int gradientId, int fillAlpha, int strokeColor, float strokeWidth)
+            throws IOException {
+        mOut.write("\" fill=\"url(#g");
+        writeNumber(gradientId);
+        mOut.write(")\"");
+        writeOpacity(" fill-opacity=\"", fillAlpha);
+        writeStroke(strokeColor, strokeWidth);
+        mOut.write(" stroke-linejoin=\"round\"/>\n");
+    }
+
+    /**
+     * 以纯色填充,不描边
+     */
+    void endPolygon(int fillColor) throws IOException {
+        mOut.write("\" fill=\"");
+        writeColor(fillColor);
+        mOut.write('"');
+        writeOpacity(" fill-opacity=\"", Color.alpha(fillColor));
+        mOut.write("/>\n");
+    }
+
+    /**
+     * 粗体文字,y为基线的位置
+     *
+     * @param centered 是否以x为中心,否则从x开始
+     */
+    void text(String text, float x, float y, float textSize, int color, boolean centered) throws IOException {
+        mOut.write("<text x=\"");
+        writeNumber(x);
+        mOut.write("\" y=\"");
+        writeNumber(y);
+        mOut.write("\" font-size=\"");
+        writeNumber(textSize);
+        mOut.write("\" font-weight=\"bold\"");
+        if (centered) {
+            mOut.write(" text-anchor=\"middle\"");
+        }
+        mOut.write(" fill=\"");
+        writeColor(color);
+        mOut.write('"');
+        writeOpacity(" fill-opacity=\"", Color.alpha(color));
+        mOut.write('>');
+        writeEscaped(text);
+        mOut.write("</text>\n");
+    }
+
+    private void writeStroke(int color, float width) throws IOException {
+        mOut.write(" stroke=\"");
+        writeColor(color);
+        mOut.write("\" stroke-width=\"");
+        writeNumber(width);
+        mOut.write('"');
+        writeOpacity(" stroke-opacity=\"", Color.alpha(color));
+    }
+
+    /**
+     * 不透明时省略该属性
+     */
+    private void writeOpacity(String attribute, int alpha) throws IOException {
+        if (alpha >= 0xff) {
+            return;
+        }
+        mOut.write(attribute);
+        writeNumber(alpha / 255f);
+        mOut.write('"');
+    }
+
+    private void writeColor(int color) throws IOException {
+        mOut.write('#');
+        for (int shift = 20; shift >= 0; shift -= 4) {
+            mOut.write(HEX_DIGITS[(color >> shift) & 0xf]);
+        }
+    }
+
+    private void writeNumber(float value) throws IOException {
+        int start = formatNumber(value, mNumberBuffer);
+        mOut.write(mNumberBuffer, start, mNumberBuffer.length - start);
+    }
+
+    /**
+     * 转义XML中的特殊字符,逐个字符写出
+     */
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    mOut.write("&amp;");
+                    break;
+                case '<':
+                    mOut.write("&lt;");
+                    break;
+                case '>':
+                    mOut.write("&gt;");
+                    break;
+                case '"':
+                    mOut.write("&quot;");
+                    break;
+                default:
+                    mOut.write(c);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 将数字保留最多两位小数,从后向前写入数组的末尾,省略末尾的0
+     *
+     * @param out 长度不小于24
+     * @return 第一个字符的下标
+     */
+    static int formatNumber(float value, char[] out) {
+        int position = out.length;
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            out[--position] = '0';
+            return position;
+        }
+        long scaled = Math.round((double) value * NUMBER_SCALE);
+        boolean negative = scaled < 0;
+        if (negative) {
+            scaled = -scaled;
+        }
+        int fraction = (int) (scaled % NUMBER_SCALE);
+        long integer = scaled / NUMBER_SCALE;
+
+        if (fraction != 0) {
+            if (fraction % 10 != 0) {
+                out[--position] = (char) ('0' + fraction % 10);
+            }
+            out[--position] = (char) ('0' + fraction / 10);
+            out[--position] = '.';
+        }
+        do {
+            out[--position] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer > 0);
+        if (negative) {
+            out[--position] = '-';
+        }
+        return position;
+    }
+
+    /**
+     * 以UTF-8编码写入可换绑的输出流,编码缓冲区在多次写出之间复用
+     * 不成对的代理项写为'?'
+     */
+    static final class Utf8StreamWriter extends Writer {
+
+        private final byte[] mBuffer = new byte[8192];
+        private int mCount;
+        private OutputStream mOut;
+        //等待低代理项的高代理项,没有时为0
+        private char mHighSurrogate;
+
+        /**
+         * 换绑输出流,丢弃未写出的内容
+         */
+        void setOutputStream(OutputStream out) {
+            mOut = out;
+            mCount = 0;
+            mHighSurrogate = 0;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            writeChar((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                writeChar(chars[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int offset, int length) throws IOException {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                writeChar(str.charAt(i));
+            }
+        }
+
+        private void writeChar(char c) throws IOException {
+            //一个字符最多写出4个字节
+            if (mCount + 4 > mBuffer.length) {
+                flushBuffer();
+            }
+            if (mHighSurrogate != 0) {
+                char high = mHighSurrogate;
+                mHighSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    int codePoint = Character.toCodePoint(high, c);
+                    mBuffer[mCount++] = (byte) (0xf0 | (codePoint >> 18));
+                    mBuffer[mCount++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    mBuffer[mCount++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    mBuffer[mCount++] = (byte) (0x80 | (codePoint & 0x3f));
+                    return;
+                }
+                mBuffer[mCount++] = '?';
+                if (mCount + 3 > mBuffer.length) {
+                    flushBuffer();
+                }
+            }
+            if (c < 0x80) {
+                mBuffer[mCount++] = (byte) c;
+            } else if (c < 0x800) {
+                mBuffer[mCount++] = (byte) (0xc0 | (c >> 6));
+                mBuffer[mCount++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c)) {
+                mHighSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                mBuffer[mCount++] = '?';
+            } else {
+                mBuffer[mCount++] = (byte) (0xe0 | (c >> 12));
+                mBuffer[mCount++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                mBuffer[mCount++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (mCount > 0) {
+                mOut.write(mBuffer, 0, mCount);
+                mCount = 0;
+            }
+        }
+
+        /**
+         * 末尾不成对的高代理项会在flush时写为'?'
+         */
+        @Override
+        public void flush() throws IOException {
+            if (mHighSurrogate != 0) {
+                mHighSurrogate = 0;
+                if (mCount + 1 > mBuffer.length) {
+                    flushBuffer();
+                }
+                mBuffer[mCount++] = '?';
+            }
+            flushBuffer();
+            mOut.flush();
+        }
+
+        /**
+         * 只flush,不关闭输出流
+         */
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
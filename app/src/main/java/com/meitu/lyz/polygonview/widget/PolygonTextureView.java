@@ -0,0 +1,405 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.animation.TimeInterpolator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.SurfaceTexture;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.Nullable;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.TextureView;
+import android.view.animation.DecelerateInterpolator;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 在独立的渲染线程中绘制的多边形,内容与 {@link PolygonView} 相同
+ * 适用于大量高频刷新的图表:主线程忙于布局或处理输入时,过渡动画依然按刷新率进行
+ * 数据从任意线程提交,渲染线程在每一帧开始时只应用最新的一份,由渲染线程自己的Choreographer按vsync驱动
+ * 绘制器只在渲染线程中使用,提交数据的线程、渲染线程及主线程之间没有锁竞争
+ *
+ * @see PolygonView#postData(String[], float[])
+ */
+public class PolygonTextureView extends TextureView implements TextureView.SurfaceTextureListener {
+
+    //默认动画时长
+    private static final long DEFAULT_ANIMATION_DURATION = 300;
+    //渲染线程退出后通知主线程
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    //渲染线程运行时只在渲染线程中使用,否则只在主线程中使用
+    private final PolygonRenderer mRenderer;
+
+    //其他线程提交的数据,每一帧只应用最新的一份
+    private final DataSnapshotBuffer mSnapshotBuffer = new DataSnapshotBuffer();
+
+    private volatile long mAnimationDuration = DEFAULT_ANIMATION_DURATION;
+    private volatile TimeInterpolator mAnimationInterpolator = new DecelerateInterpolator();
+
+    //渲染线程的帧循环,Surface可用时启动,销毁时退出
+    private volatile RenderLoop mRenderLoop;
+
+    //以下只在主线程中访问
+    //已销毁但渲染线程还未退出的循环,退出前绘制器仍归它所有
+    private RenderLoop mRetiringLoop;
+    //等待旧的渲染线程退出后再启动的Surface尺寸,未等待时宽为-1
+    private int mPendingWidth = -1;
+    private int mPendingHeight;
+    //等待旧的渲染线程退出期间设置的样式
+    private PolygonStyle mPendingStyle;
+
+    public PolygonTextureView(Context context) {
+        this(context, (AttributeSet) null);
+    }
+
+    public PolygonTextureView(Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public PolygonTextureView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        PolygonAttributes attributes = PolygonAttributes.obtain(context, attrs);
+        mRenderer = new PolygonRenderer(attributes.mStyle);
+        if (attributes.mAnimationDuration != PolygonAttributes.NO_ANIMATION_DURATION) {
+            mAnimationDuration = attributes.mAnimationDuration;
+        }
+        init();
+    }
+
+    /**
+     * 以共享的样式创建,不解析任何属性
+     */
+    public PolygonTextureView(Context context, PolygonStyle style) {
+        super(context);
+        mRenderer = new PolygonRenderer(style);
+        init();
+    }
+
+    private void init() {
+        setOpaque(false);
+        setSurfaceTextureListener(this);
+    }
+
+    /**
+     * 从任意线程提交一份数据集,不会阻塞
+     * 渲染线程在下一帧开始时只应用最新提交的一份,边数不变时从当前形状过渡到新的数据
+     * 会复制传入的数组,提交后可以立即修改它们
+     *
+     * @param keys   小标题  length>=3
+     * @param values 数据,长度与keys一致
+     */
+    public void postData(String[] keys, float[] values) {
+        if (keys == null || values == null || keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values must have the same length");
+        }
+        mSnapshotBuffer.publish(keys, values);
+        scheduleFrame();
+    }
+
+    /**
+     * 从任意线程提交全部数据,小标题不变,不会阻塞
+     *
+     * @param values 数据,长度与应用时的数据集一致
+     */
+    public void postValues(float[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+        mSnapshotBuffer.publish(null, values);
+        scheduleFrame();
+    }
+
+    /**
+     * 整体替换样式,需在主线程调用,在渲染线程的下一帧生效
+     */
+    public void setStyle(final PolygonStyle style) {
+        final RenderLoop renderLoop = mRenderLoop;
+        if (renderLoop == null) {
+            if (mRetiringLoop != null) {
+                //旧的渲染线程退出后再应用
+                mPendingStyle = style;
+            } else {
+                //渲染线程未运行时绘制器只在主线程中使用
+                mRenderer.setStyle(style);
+            }
+            return;
+        }
+        renderLoop.mHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mRenderer.setStyle(style);
+                renderLoop.invalidate();
+            }
+        });
+    }
+
+    /**
+     * @param animationDuration 过渡动画的时长,不大于0时直接跳到新的数据
+     */
+    public void setAnimationDuration(long animationDuration) {
+        mAnimationDuration = animationDuration;
+    }
+
+    public void setAnimationInterpolator(TimeInterpolator interpolator) {
+        mAnimationInterpolator = interpolator;
+    }
+
+    /**
+     * 已应用的提交数
+     */
+    public long getAppliedUpdateCount() {
+        return mSnapshotBuffer.getAppliedCount();
+    }
+
+    /**
+     * 应用前被更新的提交覆盖,或数据个数与已绑定的数据集不一致而丢弃的提交数
+     */
+    public long getDroppedUpdateCount() {
+        return mSnapshotBuffer.getDroppedCount();
+    }
+
+    /**
+     * 预约渲染线程的下一帧,每一帧最多预约一次
+     */
+    private void scheduleFrame() {
+        RenderLoop renderLoop = mRenderLoop;
+        if (renderLoop == null || !renderLoop.mFrameScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        renderLoop.mHandler.post(renderLoop.mScheduleRunnable);
+    }
+
+    @Override
+    public void onSurfaceTextureAvailable(SurfaceTexture surface, int width, int height) {
+        if (mRetiringLoop != null) {
+            //绘制器还归旧的渲染线程所有,等它退出后再启动
+            mPendingWidth = width;
+            mPendingHeight = height;
+            return;
+        }
+        startRenderLoop(width, height);
+    }
+
+    private void startRenderLoop(int width, int height) {
+        HandlerThread renderThread = new HandlerThread("PolygonTextureView", Process.THREAD_PRIORITY_DISPLAY);
+        renderThread.start();
+        mRenderLoop = new RenderLoop(renderThread);
+        postSize(mRenderLoop, width, height);
+    }
+
+    @Override
+    public void onSurfaceTextureSizeChanged(SurfaceTexture surface, int width, int height) {
+        RenderLoop renderLoop = mRenderLoop;
+        if (renderLoop == null) {
+            //等待旧的渲染线程退出时,启动时使用最新的尺寸
+            if (mPendingWidth >= 0) {
+                mPendingWidth = width;
+                mPendingHeight = height;
+            }
+            return;
+        }
+        postSize(renderLoop, width, height);
+    }
+
+    private void postSize(final RenderLoop renderLoop, final int width, final int height) {
+        renderLoop.mHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mRenderer.setSize(width, height);
+                renderLoop.invalidate();
+            }
+        });
+    }
+
+    /**
+     * 不在主线程中等待渲染线程:渲染线程处理完已有的任务后自行停止,
+     * 在最后一帧之后释放SurfaceTexture,再通知主线程收回绘制器
+     */
+    @Override
+    public boolean onSurfaceTextureDestroyed(final SurfaceTexture surface) {
+        final RenderLoop renderLoop = mRenderLoop;
+        if (renderLoop == null) {
+            //还在等待旧的渲染线程退出,新的循环没有启动过
+            mPendingWidth = -1;
+            return true;
+        }
+        //先停止提交新的任务
+        mRenderLoop = null;
+        mRetiringLoop = renderLoop;
+        renderLoop.mHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                renderLoop.stop();
+                surface.release();
+                renderLoop.mThread.quit();
+                MAIN_HANDLER.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onRenderLoopRetired(renderLoop);
+                    }
+                });
+            }
+        });
+        return false;
+    }
+
+    /**
+     * 渲染线程已退出,绘制器回到主线程,应用期间设置的样式并启动等待中的新循环
+     */
+    private void onRenderLoopRetired(RenderLoop renderLoop) {
+        if (mRetiringLoop != renderLoop) {
+            return;
+        }
+        mRetiringLoop = null;
+        if (mPendingStyle != null) {
+            mRenderer.setStyle(mPendingStyle);
+            mPendingStyle = null;
+        }
+        if (mPendingWidth >= 0 && isAvailable()) {
+            startRenderLoop(mPendingWidth, mPendingHeight);
+        }
+        mPendingWidth = -1;
+    }
+
+    @Override
+    public void onSurfaceTextureUpdated(SurfaceTexture surface) {
+    }
+
+    /**
+     * 渲染线程中的帧循环,除预约标记外所有状态只在渲染线程中访问
+     */
+    private class RenderLoop implements Choreographer.FrameCallback {
+
+        private final HandlerThread mThread;
+        private final Handler mHandler;
+        //是否已经预约了下一帧,每个循环各自持有,旧循环退出时残留的标记不会影响新的循环
+        private final AtomicBoolean mFrameScheduled = new AtomicBoolean();
+        //渲染线程的Choreographer,第一次使用时在渲染线程中获取
+        private Choreographer mChoreographer;
+        //是否需要绘制
+        private boolean mDirty;
+        //过渡动画开始的帧时间,-1时还未开始
+        private long mTransitionStartNanos = -1;
+        private boolean mStopped;
+
+        private final Runnable mScheduleRunnable = new Runnable() {
+            @Override
+            public void run() {
+                postFrame();
+            }
+        };
+
+        RenderLoop(HandlerThread thread) {
+            mThread = thread;
+            mHandler = new Handler(thread.getLooper());
+        }
+
+        private void postFrame() {
+            if (mStopped) {
+                return;
+            }
+            if (mChoreographer == null) {
+                mChoreographer = Choreographer.getInstance();
+            }
+            mChoreographer.postFrameCallback(this);
+        }
+
+        /**
+         * 样式或尺寸变化,需要重新绘制
+         */
+        void invalidate() {
+            mDirty = true;
+            if (mFrameScheduled.compareAndSet(false, true)) {
+                postFrame();
+            }
+        }
+
+        void stop() {
+            mStopped = true;
+            if (mChoreographer != null) {
+                mChoreographer.removeFrameCallback(this);
+            }
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (mStopped) {
+                return;
+            }
+            //先清除标记,之后的提交会预约下一帧
+            mFrameScheduled.set(false);
+            applyPendingSnapshot();
+            boolean animating = advanceTransition(frameTimeNanos);
+            if (mDirty) {
+                mDirty = false;
+                drawFrame();
+            }
+            if (animating && mFrameScheduled.compareAndSet(false, true)) {
+                postFrame();
+            }
+        }
+
+        private void applyPendingSnapshot() {
+            DataSnapshotBuffer.Snapshot snapshot = mSnapshotBuffer.take();
+            if (snapshot == null) {
+                return;
+            }
+            boolean animate = mAnimationDuration > 0;
+            boolean applied = snapshot.keys != null
+                    ? mRenderer.setData(snapshot.keys, snapshot.values, animate)
+                    : mRenderer.setValues(snapshot.values, animate, null);
+            mSnapshotBuffer.recycle(snapshot);
+            if (applied) {
+                mSnapshotBuffer.onApplied();
+                //新的过渡从这一帧开始
+                mTransitionStartNanos = -1;
+                mDirty = true;
+            } else {
+                //数据个数与已绑定的数据集不一致
+                mSnapshotBuffer.onRejected();
+            }
+        }
+
+        /**
+         * 按帧时间推进过渡动画
+         *
+         * @return 动画是否还要继续
+         */
+        private boolean advanceTransition(long frameTimeNanos) {
+            if (!mRenderer.isTransitionRunning()) {
+                return false;
+            }
+            if (mTransitionStartNanos < 0) {
+                mTransitionStartNanos = frameTimeNanos;
+            }
+            long durationNanos = mAnimationDuration * 1000000;
+            float progress = durationNanos <= 0 ? 1 : (float) (frameTimeNanos - mTransitionStartNanos) / durationNanos;
+            mDirty = true;
+            if (progress >= 1) {
+                mRenderer.finishTransition();
+                return false;
+            }
+            mRenderer.applyTransition(mAnimationInterpolator.getInterpolation(progress));
+            return true;
+        }
+
+        private void drawFrame() {
+            Canvas canvas = lockCanvas();
+            if (canvas == null) {
+                return;
+            }
+            try {
+                canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+                mRenderer.draw(canvas);
+            } finally {
+                unlockCanvasAndPost(canvas);
+            }
+        }
+    }
+}
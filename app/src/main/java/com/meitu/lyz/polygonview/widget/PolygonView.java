@@ -1,122 +1,114 @@
 package com.meitu.lyz.polygonview.widget;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
 import android.content.Context;
-import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.DashPathEffect;
-import android.graphics.LinearGradient;
-import android.graphics.Paint;
-import android.graphics.Path;
-import android.graphics.PathEffect;
-import android.graphics.PointF;
-import android.graphics.Shader;
-import android.graphics.Typeface;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.support.annotation.Nullable;
-import android.support.v4.content.ContextCompat;
 import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.animation.DecelerateInterpolator;
 
-import com.meitu.lyz.polygonview.R;
-
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 多边形View,可根据数据集绘制任意多边形
  * 可动态绑定数据集刷新View
+ * 样式、数据及绘制都由 {@link PolygonRenderer} 完成,View只负责尺寸、动画、局部刷新及背景缓存
  *
  * @author LYZ 2018.04.26
  */
 public class PolygonView extends View {
 
-    private Context mContext;
-
-    //边数
-    private int mEdgeNum;
-
-    //小标题
-    private String[] mKeys;
-    //数据集
-    private float[] mValues;
-    //最大值的下标
-    private int mMaxValueIndex;
-
-
-    //View实际的宽高
-    private int mWidth, mHeight;
-
-    //边界及分隔线宽度
-    private int mEdgeWidth;
-    //数据集遮罩层边界线宽度
-    private int mCoverEdgeWidth;
-
-    //多边形的半径
-    private int mRadius;
-    //中间四个圈的半径
-    private int[] mBackgroundRadius;
-    //绘制虚线的PathEffect
-    private PathEffect mPathEffect;
-
-    //中间多边形的比例
-    private float mPolygonRate;
-    //默认比例
-    private static final float DEFAULT_POLYGON_RATE = 0.92f;
-
-    //小标题和数据的文字大小，颜色
-    private int mKeyTextSize;
-    private int mValueTextSize;
-    private int mKeyTextColor;
-    private int mValueTextColor;
-
-    //数据最大的下小标题和数据的文字大小，颜色
-    private int mMaxKeyTextSize;
-    private int mMaxValueTextSize;
-    private int mMaxKeyTextColor;
-    private int mMaxValueTextColor;
-
-    //用于获取文字高度的FontMetrics
-    private Paint.FontMetrics mValueFontMetrics;
-    private Paint.FontMetrics mMaxKeyFontMetrics;
-    private Paint.FontMetrics mMaxValueFontMetrics;
-
-    //文字和多边形的间距
-    private int mTextGraphMargin;
-
-    //边界及分割线的颜色
-    private int mEdgeColor;
-    //数据集遮罩层边界的颜色
-    private int mCoverEdgeColor;
-    //数据集遮罩层的渐变起始颜色
-    private int mCoverStartColor;
-    //数据集遮罩层的渐变结束颜色
-    private int mCoverEndColor;
-
-    //数据集遮罩层的透明度
-    private int mCoverAlpha;
-    //默认透明度
-    private static final int DEFAULT_COVER_ALPHA = 205;
-
-    //多边形中心点
-    private PointF mCenterPoint;
-
-    //外圈的点集
-    private PointF[] mOutsideEdgePoints;
-
-    //数据集遮罩层的点集
-    private PointF[] mValueEdgePoints;
-    //文字中心点集
-    private PointF[] mTextPoints;
-
-    //数据集绘制路径
-    private Path mValueEdgePath;
-
-    //各个部分的Paint
-    private Paint mEdgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    private Paint mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    private Paint mCoverPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    private Paint mCoverEdgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    /**
+     * 点击选中坐标轴的回调
+     */
+    public interface OnAxisSelectedListener {
+
+        /**
+         * @param index 被点击的坐标轴的下标
+         */
+        void onAxisSelected(PolygonView view, int index);
+    }
+
+    //以Path绘制遮罩层,逐条绘制分割线
+    public static final int RENDER_MODE_PATH = PolygonRenderer.RENDER_MODE_PATH;
+    //以三角扇顶点数组绘制遮罩层,一次绘制所有分割线
+    public static final int RENDER_MODE_VERTICES = PolygonRenderer.RENDER_MODE_VERTICES;
+
+    //样式、数据及绘制
+    private PolygonRenderer mRenderer;
+
+    //过渡动画,只创建一次
+    private ValueAnimator mCoverAnimator;
+    private long mAnimationDuration = DEFAULT_ANIMATION_DURATION;
+    private TimeInterpolator mAnimationInterpolator = new DecelerateInterpolator();
+    //默认动画时长
+    private static final long DEFAULT_ANIMATION_DURATION = 300;
+
+    //需要重绘的区域
+    private RectF mDirtyRect = new RectF();
+    private Rect mInvalidateRect = new Rect();
+
+    //是否将背景圆及分割线缓存为Bitmap
+    private boolean mBackgroundCacheEnabled;
+    //背景层缓存及绘制它的Canvas
+    private Bitmap mBackgroundBitmap;
+    private Canvas mBackgroundCanvas;
+    //缓存中背景层的版本,与绘制器不一致时需要重新绘制
+    private int mBackgroundGeneration = -1;
+
+    //点击选中坐标轴
+    private OnAxisSelectedListener mOnAxisSelectedListener;
+    //按下时命中的坐标轴,抬起时仍命中同一坐标轴才算点击
+    private int mTouchAxis = -1;
+    //顶点附近的判定距离
+    private float mTouchSlop;
+
+    //其他线程提交的数据,每一帧只应用最新的一份
+    private final DataSnapshotBuffer mSnapshotBuffer = new DataSnapshotBuffer();
+    //是否已经预约了应用数据的帧回调
+    private final AtomicBoolean mApplyScheduled = new AtomicBoolean();
+    //非主线程提交数据时切换到主线程,不依赖View是否attach
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    private final Choreographer.FrameCallback mApplyFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            applyPendingSnapshot();
+        }
+    };
+    //非主线程提交数据时,切换到主线程预约帧回调
+    private final Runnable mScheduleApplyRunnable = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer.getInstance().postFrameCallback(mApplyFrameCallback);
+        }
+    };
+
+    //恢复的数据集,在第一次onSizeChanged时与尺寸一起应用,只计算一次点集
+    private String[] mPendingKeys;
+    private float[] mPendingValues;
+    private int mPendingSelectedAxis = -1;
 
     public PolygonView(Context context) {
-        this(context, null);
+        this(context, (AttributeSet) null);
     }
 
     public PolygonView(Context context, @Nullable AttributeSet attrs) {
@@ -125,87 +117,64 @@ public class PolygonView extends View {
 
     public PolygonView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        mContext = context;
-        initAttr(attrs);
-        initPaint();
+        initAttr(context, attrs);
+        mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
     }
 
-
     /**
-     * 初始化自定义属性
+     * 以共享的样式创建,不解析任何属性
      */
-    private void initAttr(AttributeSet attrs) {
-        TypedArray typedArray = mContext.obtainStyledAttributes(attrs, R.styleable.PolygonView);
-
-        mKeyTextColor = typedArray.getColor(R.styleable.PolygonView_key_text_color,
-                ContextCompat.getColor(mContext, R.color.polygon_view_key_text_color));
-        mMaxKeyTextColor = typedArray.getColor(R.styleable.PolygonView_max_key_text_color,
-                ContextCompat.getColor(mContext, R.color.polygon_view_max_key_text_color));
-        mValueTextColor = typedArray.getColor(R.styleable.PolygonView_value_text_color,
-                ContextCompat.getColor(mContext, R.color.polygon_view_value_text_color));
-        mMaxValueTextColor = typedArray.getColor(R.styleable.PolygonView_max_value_text_color,
-                ContextCompat.getColor(mContext, R.color.polygon_view_max_value_text_color));
-        mEdgeColor = typedArray.getColor(R.styleable.PolygonView_edge_color,
-                ContextCompat.getColor(mContext, R.color.polygon_view_edge_color));
-        mCoverEdgeColor = typedArray.getColor(R.styleable.PolygonView_cover_edge_color,
-                ContextCompat.getColor(mContext, R.color.polygon_view_cover_edge_color));
-        mCoverStartColor = typedArray.getColor(R.styleable.PolygonView_cover_start_color,
-                ContextCompat.getColor(mContext, R.color.polygon_view_cover_start_color));
-        mCoverEndColor = typedArray.getColor(R.styleable.PolygonView_cover_end_color,
-                ContextCompat.getColor(mContext, R.color.polygon_view_cover_end_color));
-
-        mCoverAlpha = typedArray.getInteger(R.styleable.PolygonView_cover_alpha, DEFAULT_COVER_ALPHA);
-        mPolygonRate = typedArray.getFloat(R.styleable.PolygonView_polygon_rate, DEFAULT_POLYGON_RATE);
-
-        mKeyTextSize = typedArray.getDimensionPixelOffset(R.styleable.PolygonView_key_text_size,
-                mContext.getResources().getDimensionPixelSize(R.dimen.polygon_view_key_text_size));
-        mValueTextSize = typedArray.getDimensionPixelOffset(R.styleable.PolygonView_value_text_size,
-                mContext.getResources().getDimensionPixelSize(R.dimen.polygon_view_value_text_size));
-        mMaxKeyTextSize = typedArray.getDimensionPixelOffset(R.styleable.PolygonView_max_key_text_size,
-                mContext.getResources().getDimensionPixelSize(R.dimen.polygon_view_max_key_text_size));
-        mMaxValueTextSize = typedArray.getDimensionPixelOffset(R.styleable.PolygonView_max_value_text_size,
-                mContext.getResources().getDimensionPixelSize(R.dimen.polygon_view_max_value_text_size));
-
-        mEdgeWidth = typedArray.getDimensionPixelOffset(R.styleable.PolygonView_edge_width,
-                mContext.getResources().getDimensionPixelOffset(R.dimen.polygon_view_edge_width));
-        mCoverEdgeWidth = typedArray.getDimensionPixelOffset(R.styleable.PolygonView_cover_edge_width,
-                mContext.getResources().getDimensionPixelOffset(R.dimen.polygon_view_cover_edge_width));
-        mTextGraphMargin = typedArray.getDimensionPixelOffset(R.styleable.PolygonView_text_graph_margin,
-                mContext.getResources().getDimensionPixelOffset(R.dimen.polygon_view_text_graph_margin));
-
+    public PolygonView(Context context, PolygonStyle style) {
+        super(context);
+        mRenderer = new PolygonRenderer(style);
+        mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+    }
 
-        typedArray.recycle();
 
+    /**
+     * 初始化自定义属性
+     * 同一主题下属性相同的布局共享解析结果,只有第一次会解析TypedArray
+     */
+    private void initAttr(Context context, AttributeSet attrs) {
+        PolygonAttributes attributes = PolygonAttributes.obtain(context, attrs);
+        mRenderer = new PolygonRenderer(attributes.mStyle);
+        if (attributes.mAnimationDuration != PolygonAttributes.NO_ANIMATION_DURATION) {
+            mAnimationDuration = attributes.mAnimationDuration;
+        }
+        mBackgroundCacheEnabled = attributes.mBackgroundCacheEnabled;
     }
 
     /**
-     * 初始化paint
+     * 整体替换样式,之前单独修改过的属性会被覆盖
+     * 相同的样式应共享同一个实例,以共享FontMetrics、Shader及PathEffect的缓存
      */
-    private void initPaint() {
-        mCoverEdgePaint.setColor(mCoverEdgeColor);
-        mEdgePaint.setColor(mEdgeColor);
-
-        mCoverPaint.setAlpha(mCoverAlpha);
-
-        mEdgePaint.setStyle(Paint.Style.STROKE);
-        mCoverEdgePaint.setStyle(Paint.Style.STROKE);
-
-        mEdgePaint.setStrokeWidth(mEdgeWidth);
-        mCoverEdgePaint.setStrokeWidth(mCoverEdgeWidth);
+    public void setStyle(PolygonStyle style) {
+        mRenderer.setStyle(style);
+        invalidate();
+    }
 
-        mEdgePaint.setStrokeJoin(Paint.Join.ROUND);
-        mCoverEdgePaint.setStrokeJoin(Paint.Join.ROUND);
+    /**
+     * 设置绘制、尺寸变化及绑定数据各阶段的耗时统计,为null时关闭
+     * 同一个统计对象可以被多个View共享
+     */
+    public void setMetrics(PolygonMetrics metrics) {
+        mRenderer.setMetrics(metrics);
+    }
 
-        mTextPaint.setTypeface(Typeface.DEFAULT_BOLD);
-        mTextPaint.setTextAlign(Paint.Align.CENTER);
+    /**
+     * 以当前样式创建一个独立的绘制器,用于离屏绘制缩略图或分享图
+     * 不包含数据集,之后对View样式的修改不会影响它
+     */
+    public PolygonRenderer copyRenderer() {
+        return new PolygonRenderer(mRenderer);
+    }
 
-        //获取FontMetrics
-        mTextPaint.setTextSize(mValueTextSize);
-        mValueFontMetrics = mTextPaint.getFontMetrics();
-        mTextPaint.setTextSize(mMaxKeyTextSize);
-        mMaxKeyFontMetrics = mTextPaint.getFontMetrics();
-        mTextPaint.setTextSize(mMaxValueTextSize);
-        mMaxValueFontMetrics = mTextPaint.getFontMetrics();
+    /**
+     * 将当前显示的图表以SVG矢量图写出,需已完成布局
+     * 批量导出时应以 {@link #copyRenderer()} 在后台绘制器上复用同一个 {@link PolygonSvgWriter}
+     */
+    public void writeSvg(Writer writer) throws IOException {
+        new PolygonSvgWriter().write(mRenderer, writer);
     }
 
     /**
@@ -215,91 +184,316 @@ public class PolygonView extends View {
      * @return 是否绑定成功
      */
     public boolean bindData(Map<String, Float> data) {
-        if (data != null && data.size() >= 3) {
-            mEdgeNum = data.size();
-            mKeys = new String[mEdgeNum];
-            data.keySet().toArray(mKeys);
-            mValues = new float[mEdgeNum];
-
-            //获取数据集并计算最大值的下标
-            mMaxValueIndex = 0;
-            for (int i = 0; i < mKeys.length; i++) {
-                mValues[i] = data.get(mKeys[i]);
-                if (mValues[i] > mValues[mMaxValueIndex]) {
-                    mMaxValueIndex = i;
-                }
-            }
+        return bindData(data, false);
+    }
 
-            //刷新View
+    /**
+     * 绑定数据集
+     *
+     * @param data    String,Float键值对  size>=3
+     * @param animate 边数不变时是否从当前形状过渡到新的数据
+     * @return 是否绑定成功
+     */
+    public boolean bindData(Map<String, Float> data, boolean animate) {
+        long start = mRenderer.beginPhase(PolygonMetrics.PHASE_BIND_DATA);
+        clearPendingState();
+        boolean bound = mRenderer.setData(data, shouldAnimate(animate));
+        mRenderer.endPhase(PolygonMetrics.PHASE_BIND_DATA, start);
+        if (bound) {
+            onDataChanged();
             invalidate();
-            return true;
         }
-        return false;
+        return bound;
     }
 
+    /**
+     * 以数组绑定数据集,避免装箱及构造Map
+     *
+     * @param keys   小标题  length>=3
+     * @param values 数据,长度与keys一致
+     * @return 是否绑定成功
+     */
+    public boolean bindData(String[] keys, float[] values) {
+        return bindData(keys, values, false);
+    }
 
     /**
-     * 计算背景的点及绘制路径
+     * 以数组绑定数据集,避免装箱及构造Map
+     *
+     * @param keys    小标题  length>=3
+     * @param values  数据,长度与keys一致
+     * @param animate 边数不变时是否从当前形状过渡到新的数据
+     * @return 是否绑定成功
      */
-    private void initBackgroundData() {
-        initBackgroundPoints();
+    public boolean bindData(String[] keys, float[] values, boolean animate) {
+        long start = mRenderer.beginPhase(PolygonMetrics.PHASE_BIND_DATA);
+        clearPendingState();
+        boolean bound = mRenderer.setData(keys, values, shouldAnimate(animate));
+        mRenderer.endPhase(PolygonMetrics.PHASE_BIND_DATA, start);
+        if (bound) {
+            onDataChanged();
+            invalidate();
+        }
+        return bound;
     }
 
     /**
-     * 计算多边形的点及绘制路径
+     * 换用预先计算好的图表,只替换绘制器,不在主线程中计算
+     * 之后的样式及数据修改都作用于该图表,View的样式以创建它时的模板为准
+     * 尺寸与View不一致时按View的尺寸重新布局
      */
-    private void initPolygonData() {
-        initPolygonEdgePoints();
-        initPolygonPath();
+    public void setPrecomputedPolygon(PrecomputedPolygon precomputed) {
+        if (mCoverAnimator != null) {
+            mCoverAnimator.cancel();
+        }
+        clearPendingState();
+        PolygonRenderer renderer = precomputed.getRenderer();
+        renderer.setMetrics(mRenderer.getMetrics());
+        if (getWidth() > 0 && getHeight() > 0) {
+            renderer.setSize(getWidth(), getHeight());
+        }
+        mRenderer = renderer;
+        //新的绘制器的背景层版本与缓存无关
+        mBackgroundGeneration = -1;
+        invalidate();
     }
 
+    /**
+     * 小标题不变,更新全部数据
+     *
+     * @param values 数据,长度与已绑定的数据集一致
+     * @return 是否更新成功
+     */
+    public boolean updateValues(float[] values) {
+        return updateValues(values, false);
+    }
 
     /**
-     * 计算背景的点
+     * 小标题不变,更新全部数据
+     *
+     * @param values  数据,长度与已绑定的数据集一致
+     * @param animate 是否从当前形状过渡到新的数据
+     * @return 是否更新成功
      */
-    private void initBackgroundPoints() {
-        mOutsideEdgePoints = new PointF[mEdgeNum];
-        mTextPoints = new PointF[mEdgeNum];
+    public boolean updateValues(float[] values, boolean animate) {
+        applyPendingState();
+        //旧的遮罩层及最大值文字需要擦除
+        mDirtyRect.setEmpty();
+        mRenderer.unionCoverBounds(mDirtyRect);
+        mRenderer.unionLabelBounds(mRenderer.getMaxValueIndex(), mDirtyRect);
+
+        if (!mRenderer.setValues(values, shouldAnimate(animate), mDirtyRect)) {
+            return false;
+        }
+        onDataChanged();
 
-        //计算中心角的弧度
-        double degree = 2 * Math.PI / mEdgeNum;
+        mRenderer.unionLabelBounds(mRenderer.getMaxValueIndex(), mDirtyRect);
+        mRenderer.unionCoverBounds(mDirtyRect);
+        invalidateDirty();
+        return true;
+    }
 
-        //根据权重计算比例
-        float textRate = 1 + (mTextGraphMargin + mMaxValueFontMetrics.bottom - mMaxValueFontMetrics.top) / mRadius;
+    /**
+     * 更新单个数据,只重新计算该顶点及其文字
+     * 以数据集最大值为满值且最大值发生变化时,所有顶点都需要重新计算
+     *
+     * @param axis  数据的下标
+     * @param value 新的数据
+     * @return 是否更新成功
+     */
+    public boolean updateValue(int axis, float value) {
+        return updateValue(axis, value, false);
+    }
 
-        for (int i = 0; i < mEdgeNum; i++) {
-            mOutsideEdgePoints[i] = new PointF((float) (mCenterPoint.x + mRadius * Math.sin(degree * i)), (float) (mCenterPoint.y - mRadius * Math.cos(degree * i)));
-            mTextPoints[i] = new PointF(mCenterPoint.x - (mCenterPoint.x - mOutsideEdgePoints[i].x) * textRate,
-                    mCenterPoint.y - (mCenterPoint.y - mOutsideEdgePoints[i].y) * textRate);
+    /**
+     * 更新单个数据,只重新计算该顶点及其文字
+     *
+     * @param axis    数据的下标
+     * @param value   新的数据
+     * @param animate 是否从当前形状过渡到新的数据
+     * @return 是否更新成功
+     */
+    public boolean updateValue(int axis, float value, boolean animate) {
+        applyPendingState();
+        //旧的遮罩层、该数据及最大值的文字需要擦除
+        mDirtyRect.setEmpty();
+        mRenderer.unionCoverBounds(mDirtyRect);
+        mRenderer.unionLabelBounds(axis, mDirtyRect);
+        mRenderer.unionLabelBounds(mRenderer.getMaxValueIndex(), mDirtyRect);
+
+        if (!mRenderer.setValue(axis, value, shouldAnimate(animate), mDirtyRect)) {
+            return false;
         }
+        onDataChanged();
+
+        mRenderer.unionLabelBounds(axis, mDirtyRect);
+        mRenderer.unionLabelBounds(mRenderer.getMaxValueIndex(), mDirtyRect);
+        mRenderer.unionCoverBounds(mDirtyRect);
+        invalidateDirty();
+        return true;
     }
 
+    /**
+     * 从任意线程提交一份数据集,不会阻塞
+     * 在下一帧开始时只应用最新提交的一份,之前未被应用的会被丢弃,适用于比刷新率更快的数据流
+     * 会复制传入的数组,提交后可以立即修改它们
+     *
+     * @param keys   小标题  length>=3
+     * @param values 数据,长度与keys一致
+     */
+    public void postData(String[] keys, float[] values) {
+        if (keys == null || values == null || keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values must have the same length");
+        }
+        mSnapshotBuffer.publish(keys, values);
+        scheduleApply();
+    }
 
     /**
-     * 计算多边形的点
+     * 从任意线程提交全部数据,小标题不变,不会阻塞
+     * 在下一帧开始时只应用最新提交的一份
+     *
+     * @param values 数据,长度与应用时的数据集一致
      */
-    private void initPolygonEdgePoints() {
-        mValueEdgePoints = new PointF[mEdgeNum];
+    public void postValues(float[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+        mSnapshotBuffer.publish(null, values);
+        scheduleApply();
+    }
 
+    /**
+     * 已应用的提交数
+     */
+    public long getAppliedUpdateCount() {
+        return mSnapshotBuffer.getAppliedCount();
+    }
 
-        for (int i = 0; i < mEdgeNum; i++) {
-            mValueEdgePoints[i] = new PointF(mCenterPoint.x - (mCenterPoint.x - mOutsideEdgePoints[i].x) * mPolygonRate,
-                    mCenterPoint.y - (mCenterPoint.y - mOutsideEdgePoints[i].y) * mPolygonRate);
+    /**
+     * 应用前被更新的提交覆盖,或数据个数与已绑定的数据集不一致而丢弃的提交数
+     */
+    public long getDroppedUpdateCount() {
+        return mSnapshotBuffer.getDroppedCount();
+    }
+
+    /**
+     * 每一帧最多预约一次应用
+     */
+    private void scheduleApply() {
+        if (!mApplyScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            Choreographer.getInstance().postFrameCallback(mApplyFrameCallback);
+        } else {
+            //API 24以下未attach时View.post的任务不会执行,直接发送到主线程
+            MAIN_HANDLER.post(mScheduleApplyRunnable);
         }
     }
 
+    /**
+     * 在帧回调中应用最新的一份数据
+     */
+    private void applyPendingSnapshot() {
+        //先清除标记,之后的提交会预约下一帧
+        mApplyScheduled.set(false);
+        DataSnapshotBuffer.Snapshot snapshot = mSnapshotBuffer.take();
+        if (snapshot == null) {
+            return;
+        }
+        boolean applied = snapshot.keys != null
+                ? bindData(snapshot.keys, snapshot.values)
+                : updateValues(snapshot.values);
+        if (applied) {
+            mSnapshotBuffer.onApplied();
+        } else {
+            //数据个数与已绑定的数据集不一致
+            mSnapshotBuffer.onRejected();
+        }
+        mSnapshotBuffer.recycle(snapshot);
+    }
+
+    private boolean shouldAnimate(boolean animate) {
+        return animate && mAnimationDuration > 0;
+    }
 
     /**
-     * 计算多边形的绘制路径
+     * 数据变化后,绘制器开始了新的过渡时从头播放动画
      */
-    private void initPolygonPath() {
-        mValueEdgePath = new Path();
-        mValueEdgePath.moveTo(mValueEdgePoints[0].x, mValueEdgePoints[0].y);
-        for (int i = 1; i < mEdgeNum; i++) {
-            mValueEdgePath.lineTo(mValueEdgePoints[i].x, mValueEdgePoints[i].y);
+    private void onDataChanged() {
+        if (mCoverAnimator != null) {
+            mCoverAnimator.cancel();
+        }
+        if (mRenderer.isTransitionRunning()) {
+            startCoverAnimation();
+        }
+    }
+
+    private void startCoverAnimation() {
+        if (mCoverAnimator == null) {
+            mCoverAnimator = ValueAnimator.ofFloat(0, 1);
+            mCoverAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    //过渡已被直接跳到目标的修改打断
+                    if (!mRenderer.isTransitionRunning()) {
+                        animation.cancel();
+                        return;
+                    }
+                    //只重绘新旧遮罩层覆盖的区域
+                    mDirtyRect.setEmpty();
+                    mRenderer.unionCoverBounds(mDirtyRect);
+                    mRenderer.applyTransition(animation.getAnimatedFraction());
+                    mRenderer.unionCoverBounds(mDirtyRect);
+                    invalidateDirty();
+                }
+            });
+            mCoverAnimator.addListener(new AnimatorListenerAdapter() {
+                private boolean mCanceled;
+
+                @Override
+                public void onAnimationStart(Animator animation) {
+                    mCanceled = false;
+                }
+
+                @Override
+                public void onAnimationCancel(Animator animation) {
+                    mCanceled = true;
+                }
+
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    //被取消时新的过渡可能已经开始,不能结束它
+                    if (!mCanceled) {
+                        mDirtyRect.setEmpty();
+                        mRenderer.unionCoverBounds(mDirtyRect);
+                        mRenderer.finishTransition();
+                        mRenderer.unionCoverBounds(mDirtyRect);
+                        invalidateDirty();
+                    }
+                }
+            });
         }
+        mCoverAnimator.setDuration(mAnimationDuration);
+        mCoverAnimator.setInterpolator(mAnimationInterpolator);
+        mCoverAnimator.start();
+    }
 
-        mValueEdgePath.close();
+    /**
+     * 只重绘发生变化的区域,未完成布局时重绘整个View
+     * 硬件加速时系统会忽略该区域,效果与invalidate()相同
+     */
+    private void invalidateDirty() {
+        if (mRenderer.getRadius() <= 0) {
+            invalidate();
+            return;
+        }
+        if (mDirtyRect.isEmpty()) {
+            return;
+        }
+        mDirtyRect.roundOut(mInvalidateRect);
+        invalidate(mInvalidateRect.left, mInvalidateRect.top, mInvalidateRect.right, mInvalidateRect.bottom);
     }
 
 
@@ -309,11 +503,10 @@ public class PolygonView extends View {
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         int widthMode = MeasureSpec.getMode(widthMeasureSpec);
-        mWidth = MeasureSpec.getSize(widthMeasureSpec);
+        int width = MeasureSpec.getSize(widthMeasureSpec);
         if (widthMode != MeasureSpec.UNSPECIFIED) {
-            heightMeasureSpec = MeasureSpec.makeMeasureSpec(mWidth, MeasureSpec.EXACTLY);
+            heightMeasureSpec = MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY);
         }
-        mHeight = MeasureSpec.getSize(heightMeasureSpec);
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
     }
 
@@ -323,259 +516,639 @@ public class PolygonView extends View {
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        mWidth = w;
-        mHeight = h;
-        mRadius = Math.min(w, h) / 2;
-        mCenterPoint = new PointF(w / 2, h / 2);
-
-
-        //计算半径，实际半径为减去文字高度和文图间距的值
-        mRadius = (int) (mRadius - (mMaxValueFontMetrics.bottom - mMaxValueFontMetrics.top) * 1.5 -
-                (mMaxKeyFontMetrics.bottom - mMaxKeyFontMetrics.top) * 1.5 - mTextGraphMargin);
-
-        initBackgroundRadius();
-        initPathEffect();
-        initCoverPaintShader();
+        long start = mRenderer.beginPhase(PolygonMetrics.PHASE_SIZE_CHANGED);
+        if (mPendingKeys != null) {
+            //恢复的数据集与尺寸一起应用,文字只测量一次
+            mRenderer.setSizeAndData(w, h, mPendingKeys, mPendingValues);
+            mRenderer.setSelectedIndex(mPendingSelectedAxis);
+            clearPendingState();
+        } else {
+            mRenderer.setSize(w, h);
+        }
+        mRenderer.endPhase(PolygonMetrics.PHASE_SIZE_CHANGED, start);
+    }
 
+    /**
+     * 只保存数据集、选中的坐标轴及单独修改过的样式,均为基本类型的数组
+     * 过渡动画进行中时保存动画的目标,恢复后直接显示目标形状
+     */
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        SavedState state = new SavedState(super.onSaveInstanceState());
+        if (mPendingKeys != null) {
+            //还未完成布局,恢复的数据集原样保存
+            state.mKeys = mPendingKeys;
+            state.mValues = mPendingValues;
+            state.mSelectedAxis = mPendingSelectedAxis;
+        } else if (mRenderer.getEdgeNum() > 0) {
+            int edgeNum = mRenderer.getEdgeNum();
+            state.mKeys = Arrays.copyOf(mRenderer.getKeys(), edgeNum);
+            state.mValues = Arrays.copyOf(mRenderer.getValues(), edgeNum);
+            state.mSelectedAxis = mRenderer.getSelectedIndex();
+        }
+        state.mStyleOverrides = mRenderer.saveStyleOverrides();
+        return state;
+    }
 
-        initBackgroundData();
-        initPolygonData();
+    /**
+     * 样式立即恢复,数据集在第一次onSizeChanged时与尺寸一起应用
+     * 已经完成布局时直接绑定
+     */
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+
+        mRenderer.applyChanges(mRenderer.restoreStyleOverrides(savedState.mStyleOverrides));
+        if (savedState.mKeys != null) {
+            mPendingKeys = savedState.mKeys;
+            mPendingValues = savedState.mValues;
+            mPendingSelectedAxis = savedState.mSelectedAxis;
+            if (mRenderer.getWidth() > 0 && mRenderer.getHeight() > 0) {
+                applyPendingState();
+            }
+        }
+        invalidate();
     }
 
     /**
-     * 计算内部四个圆的半径
+     * 立即绑定恢复的数据集,用于布局前就需要已绑定数据的操作
      */
-    private void initBackgroundRadius() {
-        mBackgroundRadius = new int[4];
-        mBackgroundRadius[0] = mRadius / 5;
-        for (int i = 1; i < 4; i++) {
-            mBackgroundRadius[i] = mBackgroundRadius[0] * (i + 1);
+    private void applyPendingState() {
+        if (mPendingKeys == null) {
+            return;
         }
+        mRenderer.setData(mPendingKeys, mPendingValues);
+        mRenderer.setSelectedIndex(mPendingSelectedAxis);
+        clearPendingState();
     }
 
+    private void clearPendingState() {
+        mPendingKeys = null;
+        mPendingValues = null;
+        mPendingSelectedAxis = -1;
+    }
 
     /**
-     * 初始化CoverPaint的Shader
+     * 重新计算受影响的部分并刷新整个View
      */
-    private void initCoverPaintShader() {
-        //计算LinearGradient的两个端点的位置
-        int offset = (int) (Math.sin(0.25 * Math.PI) * mRadius);
-        LinearGradient linearGradient = new LinearGradient(mCenterPoint.x + offset, mCenterPoint.y - offset,
-                mCenterPoint.x - offset, mCenterPoint.y + offset,
-                mCoverStartColor, mCoverEndColor, Shader.TileMode.CLAMP);
-        mCoverPaint.setShader(linearGradient);
+    private void applyChanges(int changes) {
+        //满值等变化会使遮罩层直接跳到目标形状,正在进行的动画在下一帧自行取消
+        mRenderer.applyChanges(changes);
+        invalidate();
     }
 
+    @Override
+    protected void onDraw(Canvas canvas) {
+        long start = mRenderer.beginPhase(PolygonMetrics.PHASE_DRAW);
+        if (mBackgroundCacheEnabled) {
+            drawCachedBackground(canvas);
+        } else {
+            mRenderer.drawBackground(canvas);
+        }
+        mRenderer.drawForeground(canvas);
+        mRenderer.endPhase(PolygonMetrics.PHASE_DRAW, start);
+    }
+
+
     /**
-     * 初始化PathEffect
+     * 绘制缓存的背景层,只在尺寸或边界样式变化后重新绘制一次
      */
-    private void initPathEffect() {
-        //计算内部圆虚线的长度
-        float interval = (float) (mBackgroundRadius[0] * 2 * Math.PI / 40f);
+    private void drawCachedBackground(Canvas canvas) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0 || mRenderer.getEdgeNum() == 0) {
+            return;
+        }
+        if (mBackgroundBitmap == null || mBackgroundBitmap.getWidth() != width
+                || mBackgroundBitmap.getHeight() != height) {
+            releaseBackgroundCache();
+            mBackgroundBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mBackgroundCanvas = new Canvas(mBackgroundBitmap);
+        }
+        if (mBackgroundGeneration != mRenderer.getBackgroundGeneration()) {
+            mBackgroundBitmap.eraseColor(Color.TRANSPARENT);
+            mRenderer.drawBackground(mBackgroundCanvas);
+            mBackgroundGeneration = mRenderer.getBackgroundGeneration();
+        }
+        canvas.drawBitmap(mBackgroundBitmap, 0, 0, null);
+    }
 
-        float[] intervals = {interval, interval};
-        mPathEffect = new DashPathEffect(intervals, 0);
+    private void releaseBackgroundCache() {
+        if (mBackgroundBitmap != null) {
+            mBackgroundBitmap.recycle();
+            mBackgroundBitmap = null;
+            mBackgroundCanvas = null;
+        }
+        mBackgroundGeneration = -1;
     }
 
     @Override
-    protected void onDraw(Canvas canvas) {
-        if (mEdgeNum == 0)
-            return;
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        //detach期间提交的数据,之前的预约可能已被移除,先清除标记再重新预约
+        if (mSnapshotBuffer.hasPending()) {
+            Choreographer.getInstance().removeFrameCallback(mApplyFrameCallback);
+            MAIN_HANDLER.removeCallbacks(mScheduleApplyRunnable);
+            mApplyScheduled.set(false);
+            scheduleApply();
+        }
+    }
 
-        //自底向上依次绘制
-        drawBackgroundCircle(canvas);
-        drawDivideLines(canvas);
-        drawCover(canvas);
-        drawCoverEdge(canvas);
-        drawText(canvas);
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        //未应用的数据保留到重新attach
+        Choreographer.getInstance().removeFrameCallback(mApplyFrameCallback);
+        MAIN_HANDLER.removeCallbacks(mScheduleApplyRunnable);
+        mApplyScheduled.set(false);
+        if (mCoverAnimator != null && mCoverAnimator.isRunning()) {
+            mCoverAnimator.end();
+        }
+        releaseBackgroundCache();
     }
 
 
+    public void setEdgeWidth(int edgeWidth) {
+        applyChanges(mRenderer.changeEdgeWidth(edgeWidth));
+    }
+
+    public void setCoverEdgeWidth(int coverEdgeWidth) {
+        mDirtyRect.setEmpty();
+        mRenderer.unionCoverBounds(mDirtyRect);
+        mRenderer.setCoverEdgeWidth(coverEdgeWidth);
+        mRenderer.unionCoverBounds(mDirtyRect);
+        invalidateDirty();
+    }
+
+    public void setPolygonRate(float polygonRate) {
+        applyChanges(mRenderer.changePolygonRate(polygonRate));
+    }
+
+    /**
+     * 设置满值,数据等于满值时顶点位于 polygonRate 处
+     *
+     * @param maxValue 不大于0时以数据集中的最大值作为满值
+     */
+    public void setMaxValue(float maxValue) {
+        applyChanges(mRenderer.changeMaxValue(maxValue));
+    }
+
     /**
-     * 绘制小标题及数值文字
+     * 设置数据过渡动画的时长,不大于0时不做过渡
      */
-    private void drawText(Canvas canvas) {
+    public void setAnimationDuration(long animationDuration) {
+        mAnimationDuration = animationDuration;
+    }
 
-        //绘制除去最大值的小标题及数值
+    public void setAnimationInterpolator(TimeInterpolator interpolator) {
+        mAnimationInterpolator = interpolator;
+    }
 
-        mTextPaint.setTextSize(mKeyTextSize);
-        mTextPaint.setColor(mKeyTextColor);
+    public void setKeyTextSize(int keyTextSize) {
+        //文字块的大小会影响半径
+        applyChanges(mRenderer.changeKeyTextSize(keyTextSize));
+    }
 
-        for (int i = 0; i < mEdgeNum; i++) {
-            if (i == mMaxValueIndex) {
-                continue;
-            }
-            canvas.drawText(mKeys[i], mTextPoints[i].x, mTextPoints[i].y, mTextPaint);
-        }
+    public void setValueTextSize(int valueTextSize) {
+        //文字块的大小会影响半径
+        applyChanges(mRenderer.changeValueTextSize(valueTextSize));
+    }
 
-        mTextPaint.setTextSize(mValueTextSize);
-        mTextPaint.setColor(mValueTextColor);
-        float yOffset = mValueFontMetrics.bottom - mValueFontMetrics.top;
-        for (int i = 0; i < mEdgeNum; i++) {
-            if (i == mMaxValueIndex) {
-                continue;
-            }
-            String value = String.valueOf(mValues[i]);
-            canvas.drawText(value, mTextPoints[i].x, mTextPoints[i].y + yOffset, mTextPaint);
-        }
+    public void setKeyTextColor(int keyTextColor) {
+        mRenderer.setKeyTextColor(keyTextColor);
+        mDirtyRect.setEmpty();
+        mRenderer.unionNormalLabelBounds(mDirtyRect);
+        invalidateDirty();
+    }
 
+    public void setValueTextColor(int valueTextColor) {
+        mRenderer.setValueTextColor(valueTextColor);
+        mDirtyRect.setEmpty();
+        mRenderer.unionNormalLabelBounds(mDirtyRect);
+        invalidateDirty();
+    }
 
-        //绘制最大值的小标题及数值
-        mTextPaint.setTextSize(mMaxKeyTextSize);
-        mTextPaint.setColor(mMaxKeyTextColor);
+    public void setMaxKeyTextSize(int maxKeyTextSize) {
+        applyChanges(mRenderer.changeMaxKeyTextSize(maxKeyTextSize));
+    }
 
+    public void setMaxValueTextSize(int maxValueTextSize) {
+        applyChanges(mRenderer.changeMaxValueTextSize(maxValueTextSize));
+    }
 
-        canvas.drawText(mKeys[mMaxValueIndex], mTextPoints[mMaxValueIndex].x, mTextPoints[mMaxValueIndex].y, mTextPaint);
+    public void setMaxKeyTextColor(int maxKeyTextColor) {
+        mRenderer.setMaxKeyTextColor(maxKeyTextColor);
+        mDirtyRect.setEmpty();
+        mRenderer.unionLabelBounds(mRenderer.getMaxValueIndex(), mDirtyRect);
+        invalidateDirty();
+    }
 
-        mTextPaint.setTextSize(mMaxValueTextSize);
-        mTextPaint.setColor(mMaxValueTextColor);
-        yOffset = mMaxValueFontMetrics.bottom - mMaxValueFontMetrics.top;
+    public void setMaxValueTextColor(int maxValueTextColor) {
+        mRenderer.setMaxValueTextColor(maxValueTextColor);
+        mDirtyRect.setEmpty();
+        mRenderer.unionLabelBounds(mRenderer.getMaxValueIndex(), mDirtyRect);
+        invalidateDirty();
+    }
 
-        String value = String.valueOf(mValues[mMaxValueIndex]);
-        canvas.drawText(value, mTextPoints[mMaxValueIndex].x, mTextPoints[mMaxValueIndex].y + yOffset, mTextPaint);
+    public void setTextGraphMargin(int textGraphMargin) {
+        applyChanges(mRenderer.changeTextGraphMargin(textGraphMargin));
+    }
 
+    public void setEdgeColor(int edgeColor) {
+        applyChanges(mRenderer.changeEdgeColor(edgeColor));
     }
 
+    public void setCoverEdgeColor(int coverEdgeColor) {
+        mRenderer.setCoverEdgeColor(coverEdgeColor);
+        invalidateCover();
+    }
 
-    /**
-     * 绘制背景圆
-     */
-    private void drawBackgroundCircle(Canvas canvas) {
-        mEdgePaint.setPathEffect(null);
-        canvas.drawCircle(mCenterPoint.x, mCenterPoint.y, mRadius, mEdgePaint);
-        mEdgePaint.setPathEffect(mPathEffect);
+    public void setCoverStartColor(int coverStartColor) {
+        mRenderer.setCoverStartColor(coverStartColor);
+        invalidateCover();
+    }
 
-        for (int mBackgroundRadiu : mBackgroundRadius) {
-            canvas.drawCircle(mCenterPoint.x, mCenterPoint.y, mBackgroundRadiu, mEdgePaint);
-        }
+    public void setCoverEndColor(int coverEndColor) {
+        mRenderer.setCoverEndColor(coverEndColor);
+        invalidateCover();
+    }
+
+    public void setCoverAlpha(int coverAlpha) {
+        mRenderer.setCoverAlpha(coverAlpha);
+        invalidateCover();
     }
 
     /**
-     * 绘制内部分割线
+     * 只重绘数据集遮罩层
      */
-    private void drawDivideLines(Canvas canvas) {
-        mEdgePaint.setPathEffect(null);
-        for (int i = 0; i < mEdgeNum; i++) {
-            canvas.drawLine(mCenterPoint.x, mCenterPoint.y, mOutsideEdgePoints[i].x, mOutsideEdgePoints[i].y, mEdgePaint);
-        }
+    private void invalidateCover() {
+        mDirtyRect.setEmpty();
+        mRenderer.unionCoverBounds(mDirtyRect);
+        invalidateDirty();
     }
 
-
     /**
-     * 绘制数据集遮罩层
+     * 在主数据集之下叠加一组数据,与主数据集共享坐标轴及满值
+     * 主数据集的边数变化时,已叠加的数据集会被清除
+     *
+     * @param values     数据,长度与主数据集一致
+     * @param startColor 遮罩层渐变的起始颜色,同时作为边界颜色
+     * @param endColor   遮罩层渐变的结束颜色
+     * @param alpha      遮罩层的透明度
+     * @return 数据集的下标,数据不合法时返回-1
      */
-    private void drawCover(Canvas canvas) {
-        canvas.drawPath(mValueEdgePath, mCoverPaint);
+    public int addSeries(float[] values, int startColor, int endColor, int alpha) {
+        int index = mRenderer.addSeries(values, startColor, endColor, alpha);
+        if (index >= 0) {
+            onSeriesChanged();
+        }
+        return index;
     }
 
     /**
-     * 绘制数据集遮罩层边界
+     * 更新叠加的数据集
+     *
+     * @param index  {@link #addSeries} 返回的下标
+     * @param values 数据,长度与主数据集一致
+     * @return 是否更新成功
      */
-    private void drawCoverEdge(Canvas canvas) {
-        canvas.drawPath(mValueEdgePath, mCoverEdgePaint);
+    public boolean setSeriesValues(int index, float[] values) {
+        if (mRenderer.setSeriesValues(index, values)) {
+            onSeriesChanged();
+            return true;
+        }
+        return false;
     }
 
+    public void removeSeries(int index) {
+        if (mRenderer.removeSeries(index)) {
+            onSeriesChanged();
+        }
+    }
 
-    public void setEdgeWidth(int edgeWidth) {
-        mEdgeWidth = edgeWidth;
-        mEdgePaint.setStrokeWidth(mEdgeWidth);
-        invalidate();
+    public void clearSeries() {
+        if (mRenderer.clearSeries()) {
+            onSeriesChanged();
+        }
     }
 
-    public void setCoverEdgeWidth(int coverEdgeWidth) {
-        mCoverEdgeWidth = coverEdgeWidth;
-        mCoverEdgePaint.setStrokeWidth(mCoverEdgeWidth);
-        invalidate();
+    public int getSeriesCount() {
+        return mRenderer.getSeriesCount();
     }
 
-    public void setPolygonRate(float polygonRate) {
-        mPolygonRate = polygonRate;
-        initPolygonData();
+    /**
+     * 以最近若干次更新中的最大值作为满值,用于数据流的自动缩放
+     * 设置了固定的满值 {@link #setMaxValue(float)} 时以固定的满值为准
+     *
+     * @param samples 窗口中的更新次数,不大于0时只以当前数据集的最大值作为满值
+     */
+    public void setScaleWindow(int samples) {
+        mRenderer.setScaleWindow(samples);
         invalidate();
     }
 
-    public void setKeyTextSize(int keyTextSize) {
-        mKeyTextSize = keyTextSize;
+    /**
+     * 是否以经过各顶点的平滑闭合曲线绘制遮罩层
+     */
+    public void setSmoothCoverEnabled(boolean enabled) {
+        mRenderer.setSmoothCoverEnabled(enabled);
         invalidate();
     }
 
-    public void setValueTextSize(int valueTextSize) {
-        mValueTextSize = valueTextSize;
-        mTextPaint.setTextSize(mValueTextSize);
-        mValueFontMetrics = mTextPaint.getFontMetrics();
-        onSizeChanged(mWidth, mHeight, mWidth, mHeight);
+    /**
+     * 是否在各圈旁标注对应的数值,刻度随满值变化
+     */
+    public void setRingLabelsEnabled(boolean enabled) {
+        mRenderer.setRingLabelsEnabled(enabled);
         invalidate();
     }
 
-    public void setKeyTextColor(int keyTextColor) {
-        mKeyTextColor = keyTextColor;
-        invalidate();
+    public void setOnAxisSelectedListener(OnAxisSelectedListener listener) {
+        mOnAxisSelectedListener = listener;
     }
 
-    public void setValueTextColor(int valueTextColor) {
-        mValueTextColor = valueTextColor;
-        invalidate();
+    /**
+     * 找出某个点所在的坐标轴,只计算一次角度,与边数无关
+     * 点需落在外圈内、该坐标轴的文字上或其数据顶点附近
+     *
+     * @return 坐标轴的下标,没有命中时为-1
+     */
+    public int findAxisAt(float x, float y) {
+        return mRenderer.findAxisAt(x, y, mTouchSlop);
     }
 
-    public void setMaxKeyTextSize(int maxKeyTextSize) {
-        mMaxKeyTextSize = maxKeyTextSize;
-        mTextPaint.setTextSize(mMaxKeyTextSize);
-        mMaxKeyFontMetrics = mTextPaint.getFontMetrics();
-        onSizeChanged(mWidth, mHeight, mWidth, mHeight);
-        invalidate();
+    /**
+     * 高亮一个坐标轴,只重绘新旧高亮的分割线、文字及相邻的遮罩层区域
+     *
+     * @param index 坐标轴的下标,-1时取消高亮
+     */
+    public void setSelectedAxis(int index) {
+        mDirtyRect.setEmpty();
+        mRenderer.setSelectedIndex(index, mDirtyRect);
+        invalidateDirty();
     }
 
-    public void setMaxValueTextSize(int maxValueTextSize) {
-        mMaxValueTextSize = maxValueTextSize;
-        mTextPaint.setTextSize(mMaxValueTextSize);
-        mMaxValueFontMetrics = mTextPaint.getFontMetrics();
-        onSizeChanged(mWidth, mHeight, mWidth, mHeight);
-        invalidate();
+    public int getSelectedAxis() {
+        return mRenderer.getSelectedIndex();
     }
 
-    public void setMaxKeyTextColor(int maxKeyTextColor) {
-        mMaxKeyTextColor = maxKeyTextColor;
-        invalidate();
+    /**
+     * 只在按下时命中坐标轴时处理触摸,不影响外层的滑动
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mTouchAxis = findAxisAt(event.getX(), event.getY());
+                return mTouchAxis >= 0;
+            case MotionEvent.ACTION_MOVE:
+                return mTouchAxis >= 0;
+            case MotionEvent.ACTION_UP:
+                int axis = findAxisAt(event.getX(), event.getY());
+                boolean clicked = axis >= 0 && axis == mTouchAxis;
+                mTouchAxis = -1;
+                if (clicked) {
+                    setSelectedAxis(axis);
+                    performClick();
+                    if (mOnAxisSelectedListener != null) {
+                        mOnAxisSelectedListener.onAxisSelected(this, axis);
+                    }
+                }
+                return clicked;
+            case MotionEvent.ACTION_CANCEL:
+                mTouchAxis = -1;
+                return false;
+            default:
+                return super.onTouchEvent(event);
+        }
     }
 
-    public void setMaxValueTextColor(int maxValueTextColor) {
-        mMaxValueTextColor = maxValueTextColor;
-        invalidate();
+    @Override
+    public boolean performClick() {
+        return super.performClick();
     }
 
-    public void setTextGraphMargin(int textGraphMargin) {
-        mTextGraphMargin = textGraphMargin;
-        onSizeChanged(mWidth, mHeight, mWidth, mHeight);
+    /**
+     * 叠加数据集变化后满值可能变化,此时主数据集会直接跳到新的形状
+     */
+    private void onSeriesChanged() {
         invalidate();
     }
 
-    public void setEdgeColor(int edgeColor) {
-        mEdgeColor = edgeColor;
-        mEdgePaint.setColor(mEdgeColor);
+    /**
+     * 是否将背景圆、虚线圈及分割线缓存为一张Bitmap
+     * 开启后只有尺寸和边界样式变化时才重新绘制背景,会额外占用一张View大小的Bitmap
+     */
+    public void setBackgroundCacheEnabled(boolean enabled) {
+        if (mBackgroundCacheEnabled == enabled) {
+            return;
+        }
+        mBackgroundCacheEnabled = enabled;
+        releaseBackgroundCache();
         invalidate();
     }
 
-    public void setCoverEdgeColor(int coverEdgeColor) {
-        mCoverEdgeColor = coverEdgeColor;
-        mCoverEdgePaint.setColor(mCoverEdgeColor);
+    /**
+     * 是否开启细节分级,适用于边数很多的情况
+     * 开启后只绘制互不重叠的文字(总是保留最大值),外圈上间距过小的分割线会被抽稀,
+     * 遮罩层中相距不到半个像素的相邻顶点会被合并
+     */
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        mRenderer.setLevelOfDetailEnabled(enabled);
         invalidate();
     }
 
-    public void setCoverStartColor(int coverStartColor) {
-        mCoverStartColor = coverStartColor;
-        initCoverPaintShader();
+    /**
+     * 设置绘制方式
+     * {@link #RENDER_MODE_VERTICES} 以一次drawLines绘制所有分割线,以带顶点颜色的三角扇绘制遮罩层,
+     * 省去路径的三角化;硬件加速在Android Q之前不支持drawVertices,此时遮罩层仍以Path绘制
+     *
+     * @param renderMode {@link #RENDER_MODE_PATH} 或 {@link #RENDER_MODE_VERTICES}
+     */
+    public void setRenderMode(int renderMode) {
+        mRenderer.setRenderMode(renderMode);
         invalidate();
     }
 
-    public void setCoverEndColor(int coverEndColor) {
-        mCoverEndColor = coverEndColor;
-        initCoverPaintShader();
+    /**
+     * 设置数据文字的格式,已绑定的数据会立即重新格式化
+     *
+     * @param formatter 为null时恢复默认格式
+     */
+    public void setValueFormatter(ValueFormatter formatter) {
+        mRenderer.setValueFormatter(formatter);
         invalidate();
     }
 
-    public void setCoverAlpha(int coverAlpha) {
-        mCoverAlpha = coverAlpha;
-        mCoverPaint.setAlpha(mCoverAlpha);
-        invalidate();
+    /**
+     * 开始批量修改样式
+     * 修改在 {@link Editor#apply()} 时统一生效,受影响的部分(FontMetrics、半径及点集、Shader、PathEffect)最多重新计算一次
+     * <pre>
+     * view.edit().setMaxKeyTextSize(a).setMaxValueTextSize(b).setTextGraphMargin(c).apply();
+     * </pre>
+     */
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * 样式的批量编辑器,必须调用 {@link #apply()} 才会重新计算并刷新
+     */
+    public final class Editor {
+
+        //累计需要重新计算的部分
+        private int mChanges;
+
+        private Editor() {
+        }
+
+        public Editor setEdgeWidth(int edgeWidth) {
+            mChanges |= mRenderer.changeEdgeWidth(edgeWidth);
+            return this;
+        }
+
+        public Editor setCoverEdgeWidth(int coverEdgeWidth) {
+            mChanges |= mRenderer.changeCoverEdgeWidth(coverEdgeWidth);
+            return this;
+        }
+
+        public Editor setPolygonRate(float polygonRate) {
+            mChanges |= mRenderer.changePolygonRate(polygonRate);
+            return this;
+        }
+
+        public Editor setMaxValue(float maxValue) {
+            mChanges |= mRenderer.changeMaxValue(maxValue);
+            return this;
+        }
+
+        public Editor setKeyTextSize(int keyTextSize) {
+            mChanges |= mRenderer.changeKeyTextSize(keyTextSize);
+            return this;
+        }
+
+        public Editor setValueTextSize(int valueTextSize) {
+            mChanges |= mRenderer.changeValueTextSize(valueTextSize);
+            return this;
+        }
+
+        public Editor setMaxKeyTextSize(int maxKeyTextSize) {
+            mChanges |= mRenderer.changeMaxKeyTextSize(maxKeyTextSize);
+            return this;
+        }
+
+        public Editor setMaxValueTextSize(int maxValueTextSize) {
+            mChanges |= mRenderer.changeMaxValueTextSize(maxValueTextSize);
+            return this;
+        }
+
+        public Editor setKeyTextColor(int keyTextColor) {
+            mChanges |= mRenderer.changeKeyTextColor(keyTextColor);
+            return this;
+        }
+
+        public Editor setValueTextColor(int valueTextColor) {
+            mChanges |= mRenderer.changeValueTextColor(valueTextColor);
+            return this;
+        }
+
+        public Editor setMaxKeyTextColor(int maxKeyTextColor) {
+            mChanges |= mRenderer.changeMaxKeyTextColor(maxKeyTextColor);
+            return this;
+        }
+
+        public Editor setMaxValueTextColor(int maxValueTextColor) {
+            mChanges |= mRenderer.changeMaxValueTextColor(maxValueTextColor);
+            return this;
+        }
+
+        public Editor setTextGraphMargin(int textGraphMargin) {
+            mChanges |= mRenderer.changeTextGraphMargin(textGraphMargin);
+            return this;
+        }
+
+        public Editor setEdgeColor(int edgeColor) {
+            mChanges |= mRenderer.changeEdgeColor(edgeColor);
+            return this;
+        }
+
+        public Editor setCoverEdgeColor(int coverEdgeColor) {
+            mChanges |= mRenderer.changeCoverEdgeColor(coverEdgeColor);
+            return this;
+        }
+
+        public Editor setCoverStartColor(int coverStartColor) {
+            mChanges |= mRenderer.changeCoverStartColor(coverStartColor);
+            return this;
+        }
+
+        public Editor setCoverEndColor(int coverEndColor) {
+            mChanges |= mRenderer.changeCoverEndColor(coverEndColor);
+            return this;
+        }
+
+        public Editor setCoverAlpha(int coverAlpha) {
+            mChanges |= mRenderer.changeCoverAlpha(coverAlpha);
+            return this;
+        }
+
+        /**
+         * 重新计算受影响的部分并刷新View
+         */
+        public void apply() {
+            applyChanges(mChanges);
+            mChanges = 0;
+        }
+    }
+
+    /**
+     * 数据集及样式以基本类型的数组写入Parcel,没有装箱
+     */
+    static class SavedState extends BaseSavedState {
+
+        //小标题及数据,没有绑定数据时为null
+        String[] mKeys;
+        float[] mValues;
+        int mSelectedAxis = -1;
+        //单独修改过的样式属性,见 PolygonRenderer#saveStyleOverrides
+        int[] mStyleOverrides;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel source) {
+            super(source);
+            mKeys = source.createStringArray();
+            mValues = source.createFloatArray();
+            mSelectedAxis = source.readInt();
+            mStyleOverrides = source.createIntArray();
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            super.writeToParcel(dest, flags);
+            dest.writeStringArray(mKeys);
+            dest.writeFloatArray(mValues);
+            dest.writeInt(mSelectedAxis);
+            dest.writeIntArray(mStyleOverrides);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel source) {
+                return new SavedState(source);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
     }
 }
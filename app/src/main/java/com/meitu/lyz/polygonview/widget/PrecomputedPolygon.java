@@ -0,0 +1,119 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.os.Process;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预先计算好的图表,包含格式化后的文字、文字的折行及位置、各个点集及路径
+ * 可以在后台线程中创建,之后由 {@link PolygonView#setPrecomputedPolygon(PrecomputedPolygon)} 直接换用,
+ * 适用于列表中提前计算即将显示的图表,使绑定数据时几乎没有计算
+ * <pre>
+ * Future&lt;PrecomputedPolygon&gt; future = PrecomputedPolygon.createAsync(template, width, height, keys, values, null);
+ * ...
+ * polygonView.setPrecomputedPolygon(future.get());
+ * </pre>
+ * 被View换用后归该View所有,同一个实例同时只能由一个View显示
+ */
+public class PrecomputedPolygon {
+
+    //计算完成的绘制器,换用后由View继续使用
+    private final PolygonRenderer mRenderer;
+
+    private PrecomputedPolygon(PolygonRenderer renderer) {
+        mRenderer = renderer;
+    }
+
+    /**
+     * 在当前线程中计算,可以是任意线程
+     *
+     * @param template 样式模板,通常来自 {@link PolygonView#copyRenderer()},计算期间不能修改
+     * @param width    View的宽,与View的尺寸不一致时换用后需要重新布局
+     * @param height   View的高
+     * @param keys     小标题  length>=3
+     * @param values   数据,长度与keys一致
+     */
+    public static PrecomputedPolygon create(PolygonRenderer template, int width, int height,
+                                            String[] keys, float[] values) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width and height must be positive");
+        }
+        if (keys == null || values == null || keys.length < 3 || keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values must have the same length of at least 3");
+        }
+        PolygonRenderer renderer = new PolygonRenderer(template);
+        //尺寸及数据一起设置,文字只测量一次
+        renderer.setSizeAndData(width, height, keys, values);
+        return new PrecomputedPolygon(renderer);
+    }
+
+    /**
+     * 在后台线程中计算,会复制传入的数组,提交后可以立即修改它们
+     *
+     * @param executor 执行计算的线程池,为null时使用共享的单线程后台线程池
+     * @see #create(PolygonRenderer, int, int, String[], float[])
+     */
+    public static Future<PrecomputedPolygon> createAsync(final PolygonRenderer template, final int width,
+                                                         final int height, String[] keys, float[] values,
+                                                         Executor executor) {
+        final String[] keysCopy = keys == null ? null : keys.clone();
+        final float[] valuesCopy = values == null ? null : values.clone();
+        FutureTask<PrecomputedPolygon> task = new FutureTask<>(new Callable<PrecomputedPolygon>() {
+            @Override
+            public PrecomputedPolygon call() {
+                return create(template, width, height, keysCopy, valuesCopy);
+            }
+        });
+        (executor == null ? DefaultExecutorHolder.EXECUTOR : executor).execute(task);
+        return task;
+    }
+
+    public int getWidth() {
+        return mRenderer.getWidth();
+    }
+
+    public int getHeight() {
+        return mRenderer.getHeight();
+    }
+
+    public int getEdgeNum() {
+        return mRenderer.getEdgeNum();
+    }
+
+    PolygonRenderer getRenderer() {
+        return mRenderer;
+    }
+
+    /**
+     * 第一次使用时才创建的共享线程池,空闲时回收线程
+     */
+    private static class DefaultExecutorHolder {
+
+        private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        runnable.run();
+                    }
+                }, "PrecomputedPolygon");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        static {
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+}
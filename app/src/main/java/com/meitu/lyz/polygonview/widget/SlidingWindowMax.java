@@ -0,0 +1,75 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 最近N个样本的最大值,用于数据流的自动缩放
+ * 以单调递减的双端队列保存可能成为最大值的样本,每次写入均摊O(1),读取O(1)
+ * 队列保存在定长的环形数组中,不会分配内存
+ */
+public class SlidingWindowMax {
+
+    //窗口大小
+    private final int mCapacity;
+    //单调递减队列中的样本值及序号,环形保存
+    private final float[] mValues;
+    private final long[] mSequences;
+    private int mHead;
+    private int mSize;
+    //下一个样本的序号
+    private long mNextSequence;
+
+    /**
+     * @param capacity 窗口中的样本数  >=1
+     */
+    public SlidingWindowMax(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        mCapacity = capacity;
+        mValues = new float[capacity];
+        mSequences = new long[capacity];
+    }
+
+    /**
+     * 写入一个样本,最早的样本移出窗口
+     */
+    public void push(float value) {
+        long sequence = mNextSequence++;
+        //移除已经不在窗口中的队头
+        if (mSize > 0 && mSequences[mHead] <= sequence - mCapacity) {
+            mHead = (mHead + 1) % mCapacity;
+            mSize--;
+        }
+        //不大于新样本的队尾不可能再成为最大值
+        while (mSize > 0 && mValues[(mHead + mSize - 1) % mCapacity] <= value) {
+            mSize--;
+        }
+        int tail = (mHead + mSize) % mCapacity;
+        mValues[tail] = value;
+        mSequences[tail] = sequence;
+        mSize++;
+    }
+
+    /**
+     * @return 窗口中的最大值,没有样本时为0
+     */
+    public float getMax() {
+        return mSize == 0 ? 0 : mValues[mHead];
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /**
+     * 窗口中的样本数
+     */
+    public int getSampleCount() {
+        return (int) Math.min(mNextSequence, mCapacity);
+    }
+
+    public void clear() {
+        mHead = 0;
+        mSize = 0;
+        mNextSequence = 0;
+    }
+}
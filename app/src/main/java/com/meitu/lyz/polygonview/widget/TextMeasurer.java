@@ -0,0 +1,18 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 文字测量接口,使文字排版不依赖Paint,可直接在JVM上测试
+ * style 为 {@link LabelLayout} 中 STYLE_ 开头的文字样式
+ */
+public interface TextMeasurer {
+
+    /**
+     * 测量整段文字的宽度
+     */
+    float measureText(String text, int style);
+
+    /**
+     * 从start开始,宽度不超过maxWidth时最多能放下的字符数
+     */
+    int breakText(String text, int start, float maxWidth, int style);
+}
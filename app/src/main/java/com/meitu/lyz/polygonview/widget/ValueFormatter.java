@@ -0,0 +1,20 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 数据文字的格式化接口
+ * 只在数据发生变化时调用,不会在每一帧中调用
+ */
+public interface ValueFormatter {
+
+    /**
+     * 默认格式,与 String.valueOf(float) 一致
+     */
+    ValueFormatter DEFAULT = new ValueFormatter() {
+        @Override
+        public String format(float value) {
+            return String.valueOf(value);
+        }
+    };
+
+    String format(float value);
+}
@@ -0,0 +1,92 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 数据文字缓存
+ * 绑定数据时格式化一次,之后只重新格式化数值(按float的位比较)发生变化的项,
+ * 绘制时直接取出字符串,不产生任何对象
+ */
+public class ValueLabelCache {
+
+    private static final String[] EMPTY = new String[0];
+
+    private ValueFormatter mFormatter;
+
+    //格式化后的文字,为null表示需要重新格式化
+    private String[] mLabels = EMPTY;
+    //格式化时对应数值的位
+    private int[] mValueBits = new int[0];
+    private int mSize;
+
+    public ValueLabelCache() {
+        this(ValueFormatter.DEFAULT);
+    }
+
+    public ValueLabelCache(ValueFormatter formatter) {
+        mFormatter = formatter;
+    }
+
+    /**
+     * 更换格式,所有文字在下次更新时重新格式化
+     */
+    public void setFormatter(ValueFormatter formatter) {
+        mFormatter = formatter == null ? ValueFormatter.DEFAULT : formatter;
+        for (int i = 0; i < mSize; i++) {
+            mLabels[i] = null;
+        }
+    }
+
+    public ValueFormatter getFormatter() {
+        return mFormatter;
+    }
+
+    /**
+     * 同步整个数据集,只格式化发生变化的项
+     *
+     * @return 重新格式化的项数
+     */
+    public int update(float[] values, int size) {
+        if (mLabels.length < size) {
+            String[] labels = new String[size];
+            int[] bits = new int[size];
+            System.arraycopy(mLabels, 0, labels, 0, mSize);
+            System.arraycopy(mValueBits, 0, bits, 0, mSize);
+            mLabels = labels;
+            mValueBits = bits;
+        }
+        for (int i = mSize; i < size; i++) {
+            mLabels[i] = null;
+        }
+        mSize = size;
+
+        int changed = 0;
+        for (int i = 0; i < size; i++) {
+            if (update(i, values[i])) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 更新单个数据的文字
+     *
+     * @return 是否重新格式化
+     */
+    public boolean update(int index, float value) {
+        int bits = Float.floatToIntBits(value);
+        if (mLabels[index] != null && mValueBits[index] == bits) {
+            return false;
+        }
+        mValueBits[index] = bits;
+        mLabels[index] = mFormatter.format(value);
+        return true;
+    }
+
+    public String get(int index) {
+        return mLabels[index];
+    }
+
+    public int size() {
+        return mSize;
+    }
+}
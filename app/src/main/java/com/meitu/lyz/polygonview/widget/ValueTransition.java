@@ -0,0 +1,93 @@
+package com.meitu.lyz.polygonview.widget;
+
+/**
+ * 数据集遮罩层各顶点比例的过渡插值
+ * 起始、目标及当前值都保存在预先分配的数组中,每一帧插值不会产生任何对象
+ */
+public class ValueTransition {
+
+    private static final float[] EMPTY = new float[0];
+
+    //起始值
+    private float[] mFrom = EMPTY;
+    //目标值
+    private float[] mTo = EMPTY;
+    //当前值
+    private float[] mCurrent = EMPTY;
+
+    private int mSize;
+
+
+    /**
+     * 直接跳到目标值,不做过渡
+     */
+    public void jumpTo(float[] target, int size) {
+        ensureCapacity(size);
+        mSize = size;
+        System.arraycopy(target, 0, mFrom, 0, size);
+        System.arraycopy(target, 0, mTo, 0, size);
+        System.arraycopy(target, 0, mCurrent, 0, size);
+    }
+
+    /**
+     * 单项直接跳到目标值
+     */
+    public void jumpTo(int index, float target) {
+        mFrom[index] = target;
+        mTo[index] = target;
+        mCurrent[index] = target;
+    }
+
+    /**
+     * 从当前值开始向目标值过渡,个数变化时直接跳到目标值
+     *
+     * @return 是否需要过渡
+     */
+    public boolean start(float[] target, int size) {
+        if (size != mSize) {
+            jumpTo(target, size);
+            return false;
+        }
+        System.arraycopy(mCurrent, 0, mFrom, 0, size);
+        System.arraycopy(target, 0, mTo, 0, size);
+        return true;
+    }
+
+    /**
+     * 根据进度计算当前值
+     *
+     * @param fraction 经过插值器处理后的进度
+     */
+    public void apply(float fraction) {
+        for (int i = 0; i < mSize; i++) {
+            mCurrent[i] = mFrom[i] + (mTo[i] - mFrom[i]) * fraction;
+        }
+    }
+
+    /**
+     * 结束过渡,当前值等于目标值
+     */
+    public void finish() {
+        System.arraycopy(mTo, 0, mCurrent, 0, mSize);
+    }
+
+    private void ensureCapacity(int size) {
+        if (mCurrent.length < size) {
+            mFrom = new float[size];
+            mTo = new float[size];
+            mCurrent = new float[size];
+        }
+    }
+
+    public float[] getCurrent() {
+        return mCurrent;
+    }
+
+    public float[] getTarget() {
+        return mTo;
+    }
+
+    public int size() {
+        return mSize;
+    }
+}
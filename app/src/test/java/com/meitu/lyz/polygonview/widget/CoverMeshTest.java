@@ -0,0 +1,27 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CoverMeshTest {
+
+    @Test
+    public void build_closesFanAndInterpolatesColors() {
+        float[] points = {0, -10, 10, 0, 0, 10, -10, 0};
+        CoverMesh mesh = new CoverMesh();
+        mesh.build(points, 4, 0, 0, 10, 0, -10, 0, 0xff000000, 0xff0000ff, 255);
+
+        assertEquals(6, mesh.getVertexCount());
+        float[] vertices = mesh.getVertices();
+        assertEquals(0, vertices[0], 0);
+        assertEquals(vertices[2], vertices[10], 0);
+        assertEquals(vertices[3], vertices[11], 0);
+
+        int[] colors = mesh.getColors();
+        //右侧顶点位于渐变起点,左侧顶点位于渐变终点
+        assertEquals(0xff000000, colors[2]);
+        assertEquals(0xff0000ff, colors[4]);
+        assertEquals(0xff000080, colors[0]);
+    }
+}
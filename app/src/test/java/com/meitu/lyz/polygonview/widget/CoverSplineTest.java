@@ -0,0 +1,61 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CoverSplineTest {
+
+    @Test
+    public void build_controlPointsFollowNeighbourTangents() {
+        //正方形,各顶点的切线平行于前后两个顶点的连线
+        float[] points = {0, -6, 6, 0, 0, 6, -6, 0};
+        CoverSpline spline = new CoverSpline();
+        spline.build(points, 4);
+
+        float[] controls = spline.getControls();
+        assertEquals(4, spline.getCount());
+        //第0段从(0,-6)到(6,0)
+        assertEquals(2, controls[0], 1e-6);
+        assertEquals(-6, controls[1], 1e-6);
+        assertEquals(6, controls[2], 1e-6);
+        assertEquals(-2, controls[3], 1e-6);
+    }
+
+    @Test
+    public void update_matchesFullBuild() {
+        int count = 9;
+        Random random = new Random(3);
+        float[] points = new float[count * 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextFloat() * 100;
+        }
+        CoverSpline incremental = new CoverSpline();
+        incremental.build(points, count);
+
+        for (int round = 0; round < 50; round++) {
+            int index = random.nextInt(count);
+            points[2 * index] = random.nextFloat() * 100;
+            points[2 * index + 1] = random.nextFloat() * 100;
+            incremental.update(points, index);
+
+            CoverSpline full = new CoverSpline();
+            full.build(points, count);
+            for (int i = 0; i < count * 4; i++) {
+                assertEquals(full.getControls()[i], incremental.getControls()[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void build_reusesBufferWhenCountShrinks() {
+        CoverSpline spline = new CoverSpline();
+        spline.build(new float[16], 8);
+        float[] buffer = spline.getControls();
+        spline.build(new float[6], 3);
+        assertSame(buffer, spline.getControls());
+        assertEquals(3, spline.getCount());
+    }
+}
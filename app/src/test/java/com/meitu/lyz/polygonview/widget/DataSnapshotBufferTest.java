@@ -0,0 +1,97 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class DataSnapshotBufferTest {
+
+    @Test
+    public void take_returnsLatestAndCountsDropped() {
+        DataSnapshotBuffer buffer = new DataSnapshotBuffer();
+        float[] values = {1, 2, 3};
+        buffer.publish(null, values);
+        values[0] = 4;
+        buffer.publish(null, values);
+
+        DataSnapshotBuffer.Snapshot snapshot = buffer.take();
+        assertEquals(4, snapshot.values[0], 0);
+        assertEquals(1, buffer.getDroppedCount());
+        assertNull(buffer.take());
+        assertFalse(buffer.hasPending());
+    }
+
+    @Test
+    public void publish_keepsKeysOfDroppedSnapshot() {
+        DataSnapshotBuffer buffer = new DataSnapshotBuffer();
+        buffer.publish(new String[]{"a", "b", "c"}, new float[]{1, 2, 3});
+        buffer.publish(null, new float[]{4, 5, 6});
+
+        DataSnapshotBuffer.Snapshot snapshot = buffer.take();
+        assertArrayEquals(new String[]{"a", "b", "c"}, snapshot.keys);
+        assertEquals(6, snapshot.values[2], 0);
+    }
+
+    @Test
+    public void recycle_reusesSnapshot() {
+        DataSnapshotBuffer buffer = new DataSnapshotBuffer();
+        buffer.publish(null, new float[]{1, 2, 3});
+        DataSnapshotBuffer.Snapshot snapshot = buffer.take();
+        float[] values = snapshot.values;
+        buffer.recycle(snapshot);
+
+        buffer.publish(null, new float[]{4, 5, 6});
+        assertSame(values, buffer.take().values);
+    }
+
+    @Test
+    public void publish_concurrentProducersLoseNothing() throws InterruptedException {
+        final DataSnapshotBuffer buffer = new DataSnapshotBuffer();
+        final int producers = 4;
+        final int perProducer = 10000;
+        final CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    float[] values = new float[3];
+                    for (int i = 0; i < perProducer; i++) {
+                        values[0] = i;
+                        buffer.publish(null, values);
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        long taken = 0;
+        while (done.getCount() > 0 || buffer.hasPending()) {
+            DataSnapshotBuffer.Snapshot snapshot = buffer.take();
+            if (snapshot != null) {
+                taken++;
+                buffer.recycle(snapshot);
+            }
+        }
+        done.await();
+
+        //每份提交不是被取出就是被丢弃
+        assertEquals(producers * perProducer, buffer.getPublishedCount());
+        assertEquals(buffer.getPublishedCount(), taken + buffer.getDroppedCount());
+    }
+
+    @Test
+    public void rejectedSnapshots_countAsDropped() {
+        DataSnapshotBuffer buffer = new DataSnapshotBuffer();
+        buffer.publish(null, new float[]{1, 2});
+        DataSnapshotBuffer.Snapshot snapshot = buffer.take();
+        buffer.onRejected();
+        buffer.recycle(snapshot);
+
+        //每份提交不是被应用就是被丢弃
+        assertEquals(1, buffer.getPublishedCount());
+        assertEquals(1, buffer.getDroppedCount());
+        assertEquals(0, buffer.getAppliedCount());
+    }
+}
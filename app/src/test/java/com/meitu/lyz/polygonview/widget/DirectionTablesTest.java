@@ -0,0 +1,31 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DirectionTablesTest {
+
+    @Test
+    public void get_sharesTableBetweenGeometries() {
+        PolygonGeometry first = new PolygonGeometry();
+        PolygonGeometry second = new PolygonGeometry();
+        first.setEdgeNum(9);
+        second.setEdgeNum(9);
+
+        assertSame(first.getDirections(), second.getDirections());
+        assertEquals(0, first.getDirections()[0], 1e-6f);
+        assertEquals(-1, first.getDirections()[1], 1e-6f);
+    }
+
+    @Test
+    public void get_evictsLeastRecentlyUsed() {
+        float[] kept = DirectionTables.get(3);
+        for (int edgeNum = 1000; edgeNum < 1000 + DirectionTables.MAX_SIZE * 2; edgeNum++) {
+            DirectionTables.get(edgeNum);
+            //持续使用的表不会被淘汰
+            assertSame(kept, DirectionTables.get(3));
+        }
+        assertTrue(DirectionTables.size() <= DirectionTables.MAX_SIZE);
+    }
+}
@@ -0,0 +1,27 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LabelCullerTest {
+
+    @Test
+    public void cull_keepsPriorityAndDropsOverlaps() {
+        //四个文字排成一行,相邻的两两重叠
+        float[] bounds = {
+                0, 0, 10, 10,
+                8, 0, 18, 10,
+                16, 0, 26, 10,
+                24, 0, 34, 10};
+        boolean[] visible = new boolean[4];
+
+        int count = LabelCuller.cull(bounds, 4, 1, visible);
+
+        assertEquals(2, count);
+        assertTrue(visible[1]);
+        assertFalse(visible[2]);
+        assertTrue(visible[3]);
+        assertFalse(visible[0]);
+    }
+}
@@ -0,0 +1,142 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LabelLayoutTest {
+
+    //每个字符宽10像素
+    private static class FixedWidthMeasurer implements TextMeasurer {
+
+        int measureCount;
+
+        @Override
+        public float measureText(String text, int style) {
+            measureCount++;
+            return text.length() * 10;
+        }
+
+        @Override
+        public int breakText(String text, int start, float maxWidth, int style) {
+            return Math.min((int) (maxWidth / 10), text.length() - start);
+        }
+    }
+
+    private FixedWidthMeasurer mMeasurer;
+    private LabelLayout mLayout;
+
+    @Before
+    public void setUp() {
+        mMeasurer = new FixedWidthMeasurer();
+        mLayout = new LabelLayout(mMeasurer);
+        //所有样式的行高都为10
+        for (int style = LabelLayout.STYLE_KEY; style <= LabelLayout.STYLE_MAX_VALUE; style++) {
+            mLayout.setLineMetrics(style, -8, 2);
+        }
+        mLayout.setCount(1);
+    }
+
+    @Test
+    public void measure_wrapsLongKeyAtSpace() {
+        mLayout.setMaxKeyWidth(80);
+
+        mLayout.measure(0, "aaa bbb ccc", "1", false);
+
+        assertEquals(2, mLayout.getLineCount(0));
+        assertEquals("aaa bbb", mLayout.getLine(0, 0));
+        assertEquals("ccc", mLayout.getLine(0, 1));
+        assertEquals(70, mLayout.getWidth(0), 0);
+        assertEquals(30, mLayout.getHeight(0), 0);
+    }
+
+    @Test
+    public void measure_ellipsizesLastLine() {
+        mLayout.setMaxKeyWidth(50);
+
+        mLayout.measure(0, "abcdefghijklmnopqrstuvwxyz", "1", false);
+
+        assertEquals(2, mLayout.getLineCount(0));
+        assertEquals("abcde", mLayout.getLine(0, 0));
+        assertEquals("fghi" + LabelLayout.ELLIPSIS, mLayout.getLine(0, 1));
+    }
+
+    @Test
+    public void measure_cachesWidths() {
+        mLayout.measure(0, "key", "12.5", false);
+        int count = mMeasurer.measureCount;
+
+        mLayout.measure(0, "key", "12.5", false);
+        assertEquals(count, mMeasurer.measureCount);
+
+        mLayout.invalidateWidths();
+        mLayout.measure(0, "key", "12.5", false);
+        assertTrue(mMeasurer.measureCount > count);
+    }
+
+    @Test
+    public void measure_keepsAllLabelsCachedForLargeCounts() {
+        int count = 1000;
+        mLayout.setCount(count);
+        for (int i = 0; i < count; i++) {
+            mLayout.measure(i, "key" + i, "v" + i, false);
+        }
+        int measured = mMeasurer.measureCount;
+
+        //容量随文字块数增长,第二次布局全部命中缓存
+        for (int i = 0; i < count; i++) {
+            mLayout.measure(i, "key" + i, "v" + i, false);
+        }
+        assertEquals(measured, mMeasurer.measureCount);
+    }
+
+    @Test
+    public void fitRadiusAndPlace_keepLabelInsideBounds() {
+        mLayout.measure(0, "abcd", "1", false);
+        //文字块在正上方
+        float[] directions = {0, -1};
+
+        float radius = mLayout.fitRadius(directions, 100, 100, 200, 200);
+        assertEquals(80, radius, 1e-4f);
+
+        mLayout.place(directions, 100, 100, radius);
+        assertEquals(100, mLayout.getCenterX(0), 1e-4f);
+        assertEquals(0, mLayout.getTop(0), 1e-4f);
+        assertEquals(20, mLayout.getBottom(0), 1e-4f);
+        assertEquals(8, mLayout.getKeyBaseline(0), 1e-4f);
+        assertEquals(18, mLayout.getValueBaseline(0), 1e-4f);
+    }
+
+    @Test
+    public void fitRadius_detectsWidenedLabelNearEdge() {
+        //上、右、下、左四个文字块
+        float[] directions = {0, -1, 1, 0, 0, 1, -1, 0};
+        mLayout.setCount(4);
+        for (int i = 0; i < 4; i++) {
+            mLayout.measure(i, "k", "9.5", false);
+        }
+        float radius = mLayout.fitRadius(directions, 100, 100, 200, 200);
+        assertEquals(70, radius, 1e-4f);
+        mLayout.place(directions, 100, 100, radius);
+
+        //正上方的文字变宽后在竖直方向上仍能放下
+        mLayout.measure(0, "k", "10.25", false);
+        assertTrue(mLayout.fitRadius(0, 0, -1, 100, 100, 200, 200) >= radius);
+
+        //右侧的文字变宽后原来的半径会超出绘制区域
+        mLayout.measure(1, "k", "10.25", false);
+        assertTrue(mLayout.fitRadius(1, 1, 0, 100, 100, 200, 200) < radius);
+
+        //重新计算半径后所有文字都在绘制区域内
+        radius = mLayout.fitRadius(directions, 100, 100, 200, 200);
+        assertEquals(50, radius, 1e-4f);
+        mLayout.place(directions, 100, 100, radius);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(mLayout.getLeft(i) >= 0);
+            assertTrue(mLayout.getTop(i) >= 0);
+            assertTrue(mLayout.getRight(i) <= 200);
+            assertTrue(mLayout.getBottom(i) <= 200);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketUpperBound_coversBucketIndex() {
+        for (long value = 0; value < 100000; value += 7) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void getPercentile_withinOneEighth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500000, histogram.getPercentile(50), 500000 / 8);
+        assertEquals(950000, histogram.getPercentile(95), 950000 / 8);
+        assertEquals(990000, histogram.getPercentile(99), 990000 / 8);
+        assertEquals(1000000, histogram.getPercentile(100));
+        assertEquals(1000, histogram.getMin());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+}
@@ -0,0 +1,42 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PolygonDataTest {
+
+    @Test
+    public void set_fromMapKeepsOrderAndFindsMax() {
+        Map<String, Float> map = new LinkedHashMap<>();
+        map.put("a", 1f);
+        map.put("b", 5f);
+        map.put("c", 3f);
+
+        PolygonData data = new PolygonData();
+        data.set(map);
+
+        assertEquals(3, data.size());
+        assertEquals("b", data.getKey(1));
+        assertEquals(1, data.getMaxValueIndex());
+    }
+
+    @Test
+    public void setValue_tracksMaxIncrementally() {
+        PolygonData data = new PolygonData();
+        data.set(new String[]{"a", "b", "c"}, new float[]{1, 5, 3});
+
+        assertTrue(data.setValue(2, 6));
+        assertEquals(2, data.getMaxValueIndex());
+
+        assertFalse(data.setValue(0, 2));
+        assertEquals(2, data.getMaxValueIndex());
+
+        //原最大值变小时重新查找
+        assertTrue(data.setValue(2, 0));
+        assertEquals(1, data.getMaxValueIndex());
+    }
+}
@@ -0,0 +1,99 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PolygonGeometryTest {
+
+    private static final float DELTA = 1e-3f;
+
+    @Test
+    public void layout_firstVertexPointsUp() {
+        PolygonGeometry geometry = new PolygonGeometry();
+        geometry.setEdgeNum(4);
+        geometry.layout(100, 100, 50);
+
+        float[] outside = geometry.getOutsidePoints();
+        assertEquals(100, outside[0], DELTA);
+        assertEquals(50, outside[1], DELTA);
+        //顺时针排列,第二个顶点在右侧
+        assertEquals(150, outside[2], DELTA);
+        assertEquals(100, outside[3], DELTA);
+        assertEquals(100, outside[4], DELTA);
+        assertEquals(150, outside[5], DELTA);
+    }
+
+    @Test
+    public void computeValuePoints_scalesByRate() {
+        PolygonGeometry geometry = new PolygonGeometry();
+        geometry.setEdgeNum(4);
+        geometry.layout(100, 100, 50);
+        geometry.computeValuePoints(0.5f);
+
+        float[] value = geometry.getValuePoints();
+        assertEquals(100, value[0], DELTA);
+        assertEquals(75, value[1], DELTA);
+        assertEquals(75, value[6], DELTA);
+        assertEquals(100, value[7], DELTA);
+    }
+
+    @Test
+    public void setEdgeNum_reusesBuffersWhenShrinking() {
+        PolygonGeometry geometry = new PolygonGeometry();
+        geometry.setEdgeNum(8);
+        float[] outside = geometry.getOutsidePoints();
+
+        geometry.setEdgeNum(5);
+        geometry.layout(0, 0, 10);
+
+        assertSame(outside, geometry.getOutsidePoints());
+        assertEquals(5, geometry.getEdgeNum());
+    }
+
+    @Test
+    public void findAxis_matchesNearestDirection() {
+        PolygonGeometry geometry = new PolygonGeometry();
+        geometry.setEdgeNum(4);
+        geometry.layout(100, 100, 50);
+
+        //正上方、右侧、下方、左侧依次为0到3
+        assertEquals(0, geometry.findAxis(100, 10));
+        assertEquals(1, geometry.findAxis(190, 100));
+        assertEquals(2, geometry.findAxis(100, 190));
+        assertEquals(3, geometry.findAxis(10, 100));
+        //左上方偏上仍属于第一条坐标轴
+        assertEquals(0, geometry.findAxis(90, 50));
+        assertEquals(-1, geometry.findAxis(100, 100));
+    }
+
+    @Test
+    public void findAxis_agreesWithLinearSearch() {
+        PolygonGeometry geometry = new PolygonGeometry();
+        geometry.setEdgeNum(7);
+        geometry.layout(0, 0, 10);
+        float[] directions = geometry.getDirections();
+
+        for (int degree = 0; degree < 360; degree += 5) {
+            float x = (float) Math.cos(Math.toRadians(degree));
+            float y = (float) Math.sin(Math.toRadians(degree));
+            int nearest = 0;
+            float best = -2;
+            float second = -2;
+            for (int i = 0; i < 7; i++) {
+                float dot = x * directions[2 * i] + y * directions[2 * i + 1];
+                if (dot > best) {
+                    second = best;
+                    best = dot;
+                    nearest = i;
+                } else if (dot > second) {
+                    second = dot;
+                }
+            }
+            //正好落在两个扇区的分界上时两者都对
+            if (best - second > 1e-4f) {
+                assertEquals(nearest, geometry.findAxis(x, y));
+            }
+        }
+    }
+}
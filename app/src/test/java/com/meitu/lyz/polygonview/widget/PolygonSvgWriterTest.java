@@ -0,0 +1,78 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.*;
+
+public class PolygonSvgWriterTest {
+
+    private static String format(float value) {
+        char[] buffer = new char[24];
+        int start = PolygonSvgWriter.formatNumber(value, buffer);
+        return new String(buffer, start, buffer.length - start);
+    }
+
+    @Test
+    public void formatNumber_trimsTrailingZeros() {
+        assertEquals("0", format(0));
+        assertEquals("12", format(12));
+        assertEquals("12.5", format(12.5f));
+        assertEquals("0.25", format(0.25f));
+        assertEquals("3.14", format(3.14159f));
+        assertEquals("100", format(99.999f));
+    }
+
+    @Test
+    public void formatNumber_handlesSignAndInvalidValues() {
+        assertEquals("-7.05", format(-7.05f));
+        assertEquals("0", format(-0.001f));
+        assertEquals("0", format(Float.NaN));
+        assertEquals("0", format(Float.POSITIVE_INFINITY));
+        assertEquals("16777216", format(16777216f));
+    }
+
+    @Test
+    public void utf8StreamWriter_encodesLikeStringGetBytes() throws IOException {
+        //ASCII、两字节、三字节及代理对
+        String text = "<text>a\u00e9\u4e2d\ud83d\ude00</text>";
+        PolygonSvgWriter.Utf8StreamWriter writer = new PolygonSvgWriter.Utf8StreamWriter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.setOutputStream(out);
+        writer.write(text);
+        writer.flush();
+
+        assertArrayEquals(text.getBytes(Charset.forName("UTF-8")), out.toByteArray());
+    }
+
+    @Test
+    public void utf8StreamWriter_reusesBufferAcrossStreams() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append("\u4e2d").append(i % 10);
+        }
+        String text = builder.toString();
+        PolygonSvgWriter.Utf8StreamWriter writer = new PolygonSvgWriter.Utf8StreamWriter();
+        for (int round = 0; round < 2; round++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.setOutputStream(out);
+            writer.write(text);
+            writer.flush();
+            assertEquals(text, new String(out.toByteArray(), Charset.forName("UTF-8")));
+        }
+    }
+
+    @Test
+    public void utf8StreamWriter_replacesUnpairedSurrogates() throws IOException {
+        PolygonSvgWriter.Utf8StreamWriter writer = new PolygonSvgWriter.Utf8StreamWriter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.setOutputStream(out);
+        writer.write("a\ud83db\ude00c\ud83d");
+        writer.flush();
+
+        assertEquals("a?b?c?", new String(out.toByteArray(), Charset.forName("UTF-8")));
+    }
+}
@@ -0,0 +1,324 @@
+package com.meitu.lyz.polygonview.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * 绘制次数、内存分配及布局耗时的回归测试
+ * 分配预算超出时说明某条本应不分配内存的路径开始分配了,预算只在确有必要时调整
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class PolygonViewPerformanceTest {
+
+    private static final int SIZE = 1080;
+
+    //每帧onDraw的平均分配字节数
+    private static final long DRAW_ALLOCATION_BUDGET = 16;
+    //数据不变时重新绑定的分配字节数,Robolectric的Path会记录每个点
+    private static final long REBIND_ALLOCATION_BUDGET = 8 * 1024;
+    private static final long REBIND_ALLOCATION_BUDGET_PER_EDGE = 128;
+    //修改文字大小的分配字节数,不应重新分配各个点集
+    private static final long TEXT_SIZE_ALLOCATION_BUDGET = 4 * 1024;
+
+    private static final int WARM_UP = 20;
+    private static final int ROUNDS = 100;
+
+    private PolygonView mView;
+    private RecordingCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mView = new PolygonView(RuntimeEnvironment.application);
+        mView.layout(0, 0, SIZE, SIZE);
+        mCanvas = new RecordingCanvas();
+    }
+
+    @Test
+    public void onDraw_pathModeDrawCalls() {
+        bind(6);
+        mCanvas.reset();
+        mView.onDraw(mCanvas);
+
+        //外圈及4个虚线圈
+        assertEquals(5, mCanvas.circles);
+        assertEquals(6, mCanvas.lines);
+        //遮罩层及其边界
+        assertEquals(2, mCanvas.paths);
+        //每个顶点一行小标题及一行数值
+        assertEquals(12, mCanvas.texts);
+    }
+
+    @Test
+    public void onDraw_verticesModeDrawCallsIndependentOfEdgeNum() {
+        mView.setRenderMode(PolygonView.RENDER_MODE_VERTICES);
+        for (int edgeNum : new int[]{6, 100}) {
+            bind(edgeNum);
+            mCanvas.reset();
+            mView.onDraw(mCanvas);
+
+            assertEquals(5, mCanvas.circles);
+            assertEquals(0, mCanvas.lines);
+            assertEquals(1, mCanvas.lineBatches);
+            assertEquals(1, mCanvas.vertices);
+            assertEquals(1, mCanvas.paths);
+        }
+    }
+
+    @Test
+    public void onDraw_levelOfDetailCullsLabels() {
+        mView.setLevelOfDetailEnabled(true);
+        bind(1000);
+        mCanvas.reset();
+        mView.onDraw(mCanvas);
+
+        assertTrue(mCanvas.texts > 0);
+        assertTrue(mCanvas.texts < 2000);
+    }
+
+    @Test
+    public void onDraw_backgroundCacheDrawsBitmap() {
+        mView.setBackgroundCacheEnabled(true);
+        bind(6);
+        mView.onDraw(mCanvas);
+        mCanvas.reset();
+        mView.onDraw(mCanvas);
+
+        assertEquals(1, mCanvas.bitmaps);
+        assertEquals(0, mCanvas.circles);
+        assertEquals(0, mCanvas.lines);
+    }
+
+    @Test
+    public void onDraw_doesNotAllocate() {
+        for (int edgeNum : new int[]{6, 100}) {
+            bind(edgeNum);
+            for (int i = 0; i < WARM_UP; i++) {
+                mView.onDraw(mCanvas);
+            }
+            long start = allocatedBytes();
+            for (int i = 0; i < ROUNDS; i++) {
+                mView.onDraw(mCanvas);
+            }
+            long perFrame = (allocatedBytes() - start - measureOverhead()) / ROUNDS;
+            assertTrue("onDraw allocated " + perFrame + " bytes per frame with " + edgeNum + " edges",
+                    perFrame <= DRAW_ALLOCATION_BUDGET);
+        }
+    }
+
+    @Test
+    public void onDraw_doesNotAllocateAfterEverySetter() {
+        bind(12);
+        callEverySetter();
+        for (int i = 0; i < WARM_UP; i++) {
+            mView.onDraw(mCanvas);
+        }
+        long start = allocatedBytes();
+        for (int i = 0; i < ROUNDS; i++) {
+            mView.onDraw(mCanvas);
+        }
+        long perFrame = (allocatedBytes() - start - measureOverhead()) / ROUNDS;
+        assertTrue("onDraw allocated " + perFrame + " bytes per frame", perFrame <= DRAW_ALLOCATION_BUDGET);
+
+        mCanvas.reset();
+        mView.onDraw(mCanvas);
+        assertEquals(24, mCanvas.texts);
+    }
+
+    @Test
+    public void rebind_staysWithinBudget() {
+        for (int edgeNum : new int[]{6, 100, 1000}) {
+            String[] keys = keys(edgeNum);
+            float[] values = values(edgeNum);
+            for (int i = 0; i < WARM_UP; i++) {
+                mView.bindData(keys, values);
+            }
+            long start = allocatedBytes();
+            mView.bindData(keys, values);
+            long allocated = allocatedBytes() - start - measureOverhead();
+
+            long budget = REBIND_ALLOCATION_BUDGET + REBIND_ALLOCATION_BUDGET_PER_EDGE * edgeNum;
+            assertTrue("bindData allocated " + allocated + " bytes with " + edgeNum + " edges",
+                    allocated <= budget);
+        }
+    }
+
+    @Test
+    public void setTextSize_staysWithinBudget() {
+        bind(100);
+        //预热样式中的FontMetrics缓存
+        for (int i = 0; i < WARM_UP; i++) {
+            mView.setKeyTextSize(30 + i % 2);
+        }
+        long start = allocatedBytes();
+        mView.setKeyTextSize(30);
+        long allocated = allocatedBytes() - start - measureOverhead();
+        assertTrue("setKeyTextSize allocated " + allocated + " bytes", allocated <= TEXT_SIZE_ALLOCATION_BUDGET);
+    }
+
+    /**
+     * 只检查每次重新布局都被记录,耗时随边数的变化由GeometryBenchmark衡量,不在单元测试中断言
+     */
+    @Test
+    public void onSizeChanged_recordsTimingAcrossEdgeNums() {
+        PolygonMetrics metrics = new PolygonMetrics();
+        mView.setMetrics(metrics);
+        for (int edgeNum : new int[]{3, 10, 100, 1000, 10000}) {
+            bind(edgeNum);
+            for (int i = 0; i < WARM_UP; i++) {
+                resize(i);
+            }
+            metrics.reset();
+            for (int i = 0; i < ROUNDS; i++) {
+                resize(i);
+            }
+            PolygonMetrics.Stats stats = metrics.getStats(PolygonMetrics.PHASE_SIZE_CHANGED);
+            assertEquals(ROUNDS, stats.count);
+        }
+    }
+
+    /**
+     * 在两个尺寸间切换,每次都会重新计算布局
+     */
+    private void resize(int round) {
+        int size = round % 2 == 0 ? SIZE : SIZE - 80;
+        mView.onSizeChanged(size, size, SIZE, SIZE);
+    }
+
+    private void callEverySetter() {
+        mView.setEdgeWidth(3);
+        mView.setCoverEdgeWidth(4);
+        mView.setPolygonRate(0.8f);
+        mView.setMaxValue(120);
+        mView.setAnimationDuration(0);
+        mView.setKeyTextSize(30);
+        mView.setValueTextSize(28);
+        mView.setKeyTextColor(Color.GRAY);
+        mView.setValueTextColor(Color.DKGRAY);
+        mView.setMaxKeyTextSize(36);
+        mView.setMaxValueTextSize(34);
+        mView.setMaxKeyTextColor(Color.BLACK);
+        mView.setMaxValueTextColor(Color.BLACK);
+        mView.setTextGraphMargin(20);
+        mView.setEdgeColor(Color.LTGRAY);
+        mView.setCoverEdgeColor(Color.BLUE);
+        mView.setCoverStartColor(Color.CYAN);
+        mView.setCoverEndColor(Color.BLUE);
+        mView.setCoverAlpha(128);
+        mView.setValueFormatter(new DecimalValueFormatter(1));
+        mView.edit().setEdgeWidth(2).setCoverAlpha(100).apply();
+    }
+
+    private void bind(int edgeNum) {
+        assertTrue(mView.bindData(keys(edgeNum), values(edgeNum)));
+    }
+
+    private static String[] keys(int edgeNum) {
+        String[] keys = new String[edgeNum];
+        for (int i = 0; i < edgeNum; i++) {
+            keys[i] = "k" + i;
+        }
+        return keys;
+    }
+
+    private static float[] values(int edgeNum) {
+        float[] values = new float[edgeNum];
+        for (int i = 0; i < edgeNum; i++) {
+            values[i] = 10 + i % 7 * 10;
+        }
+        return values;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 读取分配字节数本身的分配
+     */
+    private static long measureOverhead() {
+        long start = allocatedBytes();
+        return allocatedBytes() - start;
+    }
+
+    /**
+     * 只记录各类绘制的次数,不实际绘制
+     */
+    private static class RecordingCanvas extends Canvas {
+
+        int circles;
+        int lines;
+        int lineBatches;
+        int paths;
+        int texts;
+        int vertices;
+        int bitmaps;
+
+        void reset() {
+            circles = 0;
+            lines = 0;
+            lineBatches = 0;
+            paths = 0;
+            texts = 0;
+            vertices = 0;
+            bitmaps = 0;
+        }
+
+        @Override
+        public boolean isHardwareAccelerated() {
+            return false;
+        }
+
+        @Override
+        public void drawCircle(float cx, float cy, float radius, Paint paint) {
+            circles++;
+        }
+
+        @Override
+        public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+            lines++;
+        }
+
+        @Override
+        public void drawLines(float[] pts, int offset, int count, Paint paint) {
+            lineBatches++;
+        }
+
+        @Override
+        public void drawPath(Path path, Paint paint) {
+            paths++;
+        }
+
+        @Override
+        public void drawText(String text, float x, float y, Paint paint) {
+            texts++;
+        }
+
+        @Override
+        public void drawVertices(VertexMode mode, int vertexCount, float[] verts, int vertOffset,
+                                 float[] texs, int texOffset, int[] colors, int colorOffset,
+                                 short[] indices, int indexOffset, int indexCount, Paint paint) {
+            vertices++;
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+            bitmaps++;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SlidingWindowMaxTest {
+
+    @Test
+    public void getMax_dropsExpiredSamples() {
+        SlidingWindowMax window = new SlidingWindowMax(3);
+        assertEquals(0, window.getMax(), 0);
+
+        window.push(5);
+        window.push(1);
+        window.push(2);
+        assertEquals(5, window.getMax(), 0);
+
+        //5移出窗口
+        window.push(1);
+        assertEquals(2, window.getMax(), 0);
+        window.push(0);
+        window.push(0);
+        assertEquals(1, window.getMax(), 0);
+    }
+
+    @Test
+    public void getMax_matchesBruteForce() {
+        int capacity = 7;
+        SlidingWindowMax window = new SlidingWindowMax(capacity);
+        Random random = new Random(1);
+        float[] history = new float[500];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = random.nextInt(20);
+            window.push(history[i]);
+
+            float expected = Float.NEGATIVE_INFINITY;
+            for (int j = Math.max(0, i - capacity + 1); j <= i; j++) {
+                expected = Math.max(expected, history[j]);
+            }
+            assertEquals(expected, window.getMax(), 0);
+        }
+        assertEquals(capacity, window.getSampleCount());
+
+        window.clear();
+        assertEquals(0, window.getMax(), 0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class ValueLabelCacheTest {
+
+    @Test
+    public void update_onlyFormatsChangedValues() {
+        ValueLabelCache cache = new ValueLabelCache();
+        float[] values = {1.5f, 2f, 3.25f};
+
+        assertEquals(3, cache.update(values, 3));
+        String second = cache.get(1);
+
+        values[0] = 4f;
+        assertEquals(1, cache.update(values, 3));
+        assertEquals("4.0", cache.get(0));
+        assertSame(second, cache.get(1));
+    }
+
+    @Test
+    public void setFormatter_reformatsEverything() {
+        ValueLabelCache cache = new ValueLabelCache();
+        float[] values = {1.5f, 2f};
+        cache.update(values, 2);
+
+        cache.setFormatter(new DecimalValueFormatter(2, "%", Locale.US));
+        assertEquals(2, cache.update(values, 2));
+        assertEquals("1.50%", cache.get(0));
+        assertEquals("2.00%", cache.get(1));
+    }
+}
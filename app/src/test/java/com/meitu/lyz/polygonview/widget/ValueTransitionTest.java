@@ -0,0 +1,66 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ValueTransitionTest {
+
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void start_interpolatesFromCurrentToTarget() {
+        ValueTransition transition = new ValueTransition();
+        transition.jumpTo(new float[]{0, 0, 0}, 3);
+
+        assertTrue(transition.start(new float[]{1, 0.5f, 0}, 3));
+        transition.apply(0.5f);
+
+        float[] current = transition.getCurrent();
+        assertEquals(0.5f, current[0], DELTA);
+        assertEquals(0.25f, current[1], DELTA);
+        assertEquals(0, current[2], DELTA);
+    }
+
+    @Test
+    public void start_sizeChangeJumpsToTarget() {
+        ValueTransition transition = new ValueTransition();
+        transition.jumpTo(new float[]{0, 0, 0}, 3);
+
+        assertFalse(transition.start(new float[]{1, 1, 1, 1}, 4));
+        assertEquals(1, transition.getCurrent()[3], DELTA);
+    }
+
+    /**
+     * 与动画过程中不带过渡地更新单个数据相同:从当前形状重新开始过渡,
+     * 被更新的顶点直接跳到目标,其他顶点继续过渡而不是停在中间或跳到终点
+     */
+    @Test
+    public void updateValueDuringTransition_otherAxesKeepAnimating() {
+        ValueTransition transition = new ValueTransition();
+        float[] target = {0, 0, 0};
+        transition.jumpTo(target, 3);
+
+        target[0] = 1;
+        target[1] = 1;
+        transition.start(target, 3);
+        transition.apply(0.5f);
+
+        target[2] = 0.8f;
+        assertTrue(transition.start(target, 3));
+        transition.jumpTo(2, target[2]);
+
+        float[] current = transition.getCurrent();
+        assertEquals(0.5f, current[0], DELTA);
+        assertEquals(0.8f, current[2], DELTA);
+
+        transition.apply(0.5f);
+        assertEquals(0.75f, current[0], DELTA);
+        assertEquals(0.75f, current[1], DELTA);
+        assertEquals(0.8f, current[2], DELTA);
+
+        transition.finish();
+        assertEquals(1, current[0], DELTA);
+        assertEquals(0.8f, current[2], DELTA);
+    }
+}
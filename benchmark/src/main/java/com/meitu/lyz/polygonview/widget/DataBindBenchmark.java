@@ -0,0 +1,87 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 绑定数据集:以Map与以数组传入的对比,对应 bindData 的两种重载
+ * 包含调用者构造输入的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataBindBenchmark {
+
+    @Param({"6", "100", "1000"})
+    public int edgeNum;
+
+    private String[] mKeys;
+    private float[] mValues;
+    private Map<String, Float> mMap;
+    private PolygonData mData;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mKeys = new String[edgeNum];
+        mValues = new float[edgeNum];
+        mMap = new LinkedHashMap<>();
+        for (int i = 0; i < edgeNum; i++) {
+            mKeys[i] = "key" + i;
+            mValues[i] = random.nextFloat() * 100;
+            mMap.put(mKeys[i], mValues[i]);
+        }
+        mData = new PolygonData();
+    }
+
+    /**
+     * 已有的Map直接绑定,只有拆箱及遍历
+     */
+    @Benchmark
+    public PolygonData bindMap() {
+        mData.set(mMap);
+        return mData;
+    }
+
+    /**
+     * 每次从原始数据构造Map再绑定,即调用者常见的用法
+     */
+    @Benchmark
+    public PolygonData buildAndBindMap() {
+        Map<String, Float> map = new LinkedHashMap<>();
+        for (int i = 0; i < edgeNum; i++) {
+            map.put(mKeys[i], mValues[i]);
+        }
+        mData.set(map);
+        return mData;
+    }
+
+    @Benchmark
+    public PolygonData bindArrays() {
+        mData.set(mKeys, mValues);
+        return mData;
+    }
+
+    @Benchmark
+    public PolygonData updateValues() {
+        mData.setValues(mValues);
+        return mData;
+    }
+}
@@ -0,0 +1,82 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 顶点的计算,对应 {@link PolygonGeometry} 的 setEdgeNum、layout 及 computeValuePoints
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+
+    @Param({"3", "6", "12", "100", "1000", "10000"})
+    public int edgeNum;
+
+    private PolygonGeometry mGeometry;
+    private float[] mRates;
+    private float[] mSpokeLines;
+
+    @Setup
+    public void setUp() {
+        mGeometry = new PolygonGeometry();
+        mGeometry.setEdgeNum(edgeNum);
+        mGeometry.layout(540, 540, 400);
+
+        Random random = new Random(42);
+        mRates = new float[edgeNum];
+        for (int i = 0; i < edgeNum; i++) {
+            mRates[i] = random.nextFloat();
+        }
+        mSpokeLines = new float[edgeNum * 4];
+    }
+
+    /**
+     * 边数变化:重新计算所有顶点的方向
+     */
+    @Benchmark
+    public PolygonGeometry directions() {
+        PolygonGeometry geometry = new PolygonGeometry();
+        geometry.setEdgeNum(edgeNum);
+        return geometry;
+    }
+
+    /**
+     * 尺寸变化:外圈顶点
+     */
+    @Benchmark
+    public PolygonGeometry layout() {
+        mGeometry.layout(540, 540, 400);
+        return mGeometry;
+    }
+
+    /**
+     * 数据变化:遮罩层的顶点
+     */
+    @Benchmark
+    public PolygonGeometry valuePoints() {
+        mGeometry.computeValuePoints(mRates);
+        return mGeometry;
+    }
+
+    @Benchmark
+    public int spokeLines() {
+        return mGeometry.fillSpokeLines(mSpokeLines, 1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.meitu.lyz.polygonview.widget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数值文字的格式化:绘制时逐个格式化与 {@link ValueLabelCache} 只格式化变化项的对比
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LabelFormatBenchmark {
+
+    @Param({"6", "100", "1000"})
+    public int edgeNum;
+
+    private float[] mValues;
+    private ValueFormatter mFormatter;
+    private ValueLabelCache mCache;
+    private int mNext;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mValues = new float[edgeNum];
+        for (int i = 0; i < edgeNum; i++) {
+            mValues[i] = random.nextFloat() * 100;
+        }
+        mFormatter = new DecimalValueFormatter(1);
+        mCache = new ValueLabelCache(mFormatter);
+        mCache.update(mValues, edgeNum);
+    }
+
+    /**
+     * 每一帧以String.valueOf格式化所有数据
+     */
+    @Benchmark
+    public void valueOfEveryFrame(Blackhole blackhole) {
+        for (int i = 0; i < edgeNum; i++) {
+            blackhole.consume(String.valueOf(mValues[i]));
+        }
+    }
+
+    /**
+     * 每一帧以格式化器格式化所有数据
+     */
+    @Benchmark
+    public void formatEveryFrame(Blackhole blackhole) {
+        for (int i = 0; i < edgeNum; i++) {
+            blackhole.consume(mFormatter.format(mValues[i]));
+        }
+    }
+
+    /**
+     * 数据不变时读取缓存的文字
+     */
+    @Benchmark
+    public void cachedUnchanged(Blackhole blackhole) {
+        mCache.update(mValues, edgeNum);
+        for (int i = 0; i < edgeNum; i++) {
+            blackhole.consume(mCache.get(i));
+        }
+    }
+
+    /**
+     * 每次只有一个数据变化
+     */
+    @Benchmark
+    public void cachedOneChanged(Blackhole blackhole) {
+        int index = mNext++ % edgeNum;
+        mValues[index] += 0.1f;
+        mCache.update(mValues, edgeNum);
+        for (int i = 0; i < edgeNum; i++) {
+            blackhole.consume(mCache.get(i));
+        }
+    }
+}